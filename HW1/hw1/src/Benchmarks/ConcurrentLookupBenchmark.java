@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import MyClasses.ConcurrentCustomerModel;
+import MyClasses.ScreenWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs reader threads doing random ID lookups and screen renders, first alone and then next to an ingest thread that
+// keeps appending to the file and tailing it, and reports lookups/second for both.
+public class ConcurrentLookupBenchmark {
+	private static final long APPEND_BYTES = 256 << 10;
+	
+	public static void main(String[] args) throws Exception {
+		if (args.length != 4) {
+			System.out.println("Usage: java Benchmarks.ConcurrentLookupBenchmark <content_file> <sizeMB> <readerThreads> <seconds>");
+			return;
+		}
+		String fileName = args[0];
+		int readers = Integer.parseInt(args[2]);
+		long millis = Long.parseLong(args[3]) * 1000;
+		ContentGenerator generator = new ContentGenerator();
+		generator.generate(fileName, Long.parseLong(args[1]) << 20);
+		ConcurrentCustomerModel model = new ConcurrentCustomerModel(fileName);
+		
+		double quiet = run(model, readers, millis, null, generator.lastID());
+		System.out.printf("%d readers, no ingest: %.0f lookups/s%n", readers, quiet);
+		
+		LongAdder ingested = new LongAdder();
+		Runnable ingest = () -> {
+			try {
+				generator.append(fileName, APPEND_BYTES);
+				ingested.add(model.ingest());
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		};
+		double busy = run(model, readers, millis, ingest, generator.lastID());
+		System.out.printf("%d readers, with ingest: %.0f lookups/s, %.0f lines/s ingested%n",
+				readers, busy, ingested.sum() / (millis / 1000.0));
+	}
+	
+	private static double run(ConcurrentCustomerModel model, int readers, long millis, Runnable ingestStep, int maxID) throws InterruptedException {
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder lookups = new LongAdder();
+		Thread[] threads = new Thread[readers + (ingestStep == null ? 0 : 1)];
+		for (int r = 0; r < readers; r++) {
+			threads[r] = new Thread(() -> {
+				ScreenWriter out = new ScreenWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				while (running.get()) {
+					model.findByIdAndPrint(1 + random.nextInt(maxID), out);
+					lookups.increment();
+				}
+			});
+		}
+		if (ingestStep != null) {
+			threads[readers] = new Thread(() -> {
+				while (running.get()) {
+					ingestStep.run();
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		Thread.sleep(millis);
+		running.set(false);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		return lookups.sum() / (millis / 1000.0);
+	}
+}
@@ -0,0 +1,142 @@
+package Benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Writes synthetic content.txt files in the HW1 record format. The block shape and the share of corrupted lines are
+// configurable so loader benchmarks can cover both clean and invalid-heavy input.
+public class ContentGenerator {
+	private static final String[] NAMES = {"yakup", "salih", "tulay", "ibrahim", "yusuf sinan", "gokhan", "didem", "alp arslan"};
+	private static final String[] SURNAMES = {"genc", "sarp", "ayyildiz", "sogukpinar", "akgul", "kaya", "gozupek kocaman", "bayrakci"};
+	private static final String[] CITIES = {"kocaeli", "istanbul", "ankara", "izmir", "bursa", "unknown"};
+	private static final String[] PRODUCTS = {"tv", "ps", "computer", "smartphone", "book", "pen", "notebook", "pencil"};
+	
+	private static final int DEFAULT_CUSTOMERS_PER_OPERATOR = 10;
+	private static final int DEFAULT_ORDERS_PER_CUSTOMER = 10;
+	private static final double DEFAULT_CORPORATE_SHARE = 0.25;
+	
+	private final int customersPerOperator;
+	private final int ordersPerCustomer;
+	private final double corporateShare;
+	private final double invalidRate;
+	private final Random random = new Random(42);
+	private int nextID = 1;
+	
+	public ContentGenerator() {
+		this(DEFAULT_CUSTOMERS_PER_OPERATOR, DEFAULT_ORDERS_PER_CUSTOMER, DEFAULT_CORPORATE_SHARE, 0);
+	}
+	
+	// corporateShare is the fraction of customers that are corporate; invalidRate the fraction of lines corrupted.
+	public ContentGenerator(int customersPerOperator, int ordersPerCustomer, double corporateShare, double invalidRate) {
+		this.customersPerOperator = customersPerOperator;
+		this.ordersPerCustomer = ordersPerCustomer;
+		this.corporateShare = corporateShare;
+		this.invalidRate = invalidRate;
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2 && args.length != 6) {
+			System.out.println("Usage: java Benchmarks.ContentGenerator <output_file> <sizeMB>"
+					+ " [customersPerOperator ordersPerCustomer corporateShare invalidRate]");
+			return;
+		}
+		fromArgs(args, 2).generate(args[0], Long.parseLong(args[1]) << 20);
+	}
+	
+	// Reads the four shape arguments starting at args[from], or returns the default generator if they are absent.
+	public static ContentGenerator fromArgs(String[] args, int from) {
+		if (args.length < from + 4) {
+			return new ContentGenerator();
+		}
+		return new ContentGenerator(Integer.parseInt(args[from]), Integer.parseInt(args[from + 1]),
+				Double.parseDouble(args[from + 2]), Double.parseDouble(args[from + 3]));
+	}
+	
+	// Writes operator blocks (operator, its customers, their orders) until the file reaches targetBytes.
+	public void generate(String fileName, long targetBytes) throws IOException {
+		write(fileName, targetBytes, false);
+	}
+	
+	// Appends at least targetBytes of further blocks, continuing the ID sequence of earlier calls.
+	public void append(String fileName, long targetBytes) throws IOException {
+		write(fileName, targetBytes, true);
+	}
+	
+	public int lastID() {
+		return nextID - 1;
+	}
+	
+	private void write(String fileName, long targetBytes, boolean append) throws IOException {
+		long written = 0;
+		StringBuilder block = new StringBuilder(1 << 14);
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName, append), 1 << 16)) {
+			while (written < targetBytes) {
+				block.setLength(0);
+				appendOperatorBlock(block);
+				byte[] bytes = block.toString().getBytes(StandardCharsets.UTF_8);
+				out.write(bytes);
+				written += bytes.length;
+			}
+		}
+	}
+	
+	private void appendOperatorBlock(StringBuilder block) {
+		int operatorID = nextID++;
+		int lineStart = block.length();
+		appendPerson(block.append("operator;"), operatorID).append(';').append(1000 + random.nextInt(5000)).append('\n');
+		maybeCorrupt(block, lineStart);
+		for (int c = 0; c < customersPerOperator; c++) {
+			int customerID = nextID++;
+			boolean corporate = random.nextDouble() < corporateShare;
+			lineStart = block.length();
+			block.append(corporate ? "corporate_customer;" : "retail_customer;");
+			appendPerson(block, customerID).append(';').append(operatorID);
+			if (corporate) {
+				block.append(';').append(pick(SURNAMES)).append(" holding");
+			}
+			block.append('\n');
+			maybeCorrupt(block, lineStart);
+			for (int o = 0; o < ordersPerCustomer; o++) {
+				int count = 1 + random.nextInt(9);
+				lineStart = block.length();
+				block.append("order;").append(pick(PRODUCTS))
+						.append(';').append(count)
+						.append(';').append(count * (10 + random.nextInt(990)))
+						.append(';').append(random.nextInt(4))
+						.append(';').append(customerID).append('\n');
+				maybeCorrupt(block, lineStart);
+			}
+		}
+	}
+	
+	// Breaks the line that starts at lineStart in one of the ways the loader has to reject.
+	private void maybeCorrupt(StringBuilder block, int lineStart) {
+		if (invalidRate <= 0 || random.nextDouble() >= invalidRate) {
+			return;
+		}
+		int lineEnd = block.length() - 1;
+		int lastField = block.lastIndexOf(";", lineEnd);
+		switch (random.nextInt(4)) {
+			case 0 -> block.insert(lineEnd, ";extra");
+			case 1 -> block.replace(lastField + 1, lineEnd, "x" + block.substring(lastField + 1, lineEnd));
+			case 2 -> block.replace(lastField + 1, lineEnd, " ");
+			default -> block.replace(lineStart, block.indexOf(";", lineStart), "unknown");
+		}
+	}
+	
+	private StringBuilder appendPerson(StringBuilder block, int id) {
+		return block.append(pick(NAMES)).append(';')
+				.append(pick(SURNAMES)).append(';')
+				.append(pick(CITIES)).append(';')
+				.append("+90262").append(1000000 + random.nextInt(9000000)).append(';')
+				.append(id);
+	}
+	
+	private String pick(String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+}
@@ -0,0 +1,62 @@
+package Benchmarks;
+
+// A small stand-in for JMH, which needs a build system this project doesn't have: runs warmup iterations, then
+// measured ones, and reports the mean time per operation with its standard deviation across iterations.
+public class Harness {
+	// Measured code returns the number of operations it performed; results it computes go through consume() so the JIT
+	// can't drop the work.
+	public interface Workload {
+		long run() throws Exception;
+	}
+	
+	private static volatile long sink;
+	
+	private final int warmupIterations;
+	private final int measuredIterations;
+	
+	public Harness(int warmupIterations, int measuredIterations) {
+		this.warmupIterations = warmupIterations;
+		this.measuredIterations = measuredIterations;
+	}
+	
+	public static void consume(long value) {
+		sink += value;
+	}
+	
+	public static void consume(Object value) {
+		sink += System.identityHashCode(value);
+	}
+	
+	// Returns the mean nanoseconds per operation of the measured iterations.
+	public double measure(String name, Workload workload) throws Exception {
+		for (int i = 0; i < warmupIterations; i++) {
+			workload.run();
+		}
+		double[] nanosPerOp = new double[measuredIterations];
+		double sum = 0;
+		for (int i = 0; i < measuredIterations; i++) {
+			long start = System.nanoTime();
+			long operations = workload.run();
+			nanosPerOp[i] = (System.nanoTime() - start) / (double) Math.max(1, operations);
+			sum += nanosPerOp[i];
+		}
+		double mean = sum / measuredIterations;
+		double squares = 0;
+		for (double value : nanosPerOp) {
+			squares += (value - mean) * (value - mean);
+		}
+		double deviation = measuredIterations > 1 ? Math.sqrt(squares / (measuredIterations - 1)) : 0;
+		System.out.printf("%-32s %s +- %s/op  (%.0f ops/s)%n", name, format(mean), format(deviation), 1e9 / mean);
+		return mean;
+	}
+	
+	private static String format(double nanos) {
+		if (nanos >= 1e6) {
+			return String.format("%.2f ms", nanos / 1e6);
+		}
+		if (nanos >= 1e3) {
+			return String.format("%.2f us", nanos / 1e3);
+		}
+		return String.format("%.1f ns", nanos);
+	}
+}
@@ -0,0 +1,74 @@
+package Benchmarks;
+
+import MyClasses.DeserializeDataFromFile;
+import MyClasses.ScreenWriter;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Tracks the loader end to end on a generated file: sequential, parallel and snapshot load time, per-ID lookup latency
+// and screen rendering throughput.
+public class LoaderBenchmark {
+	private static final int LOOKUPS = 1 << 20;
+	private static final int SCREENS = 1 << 16;
+	
+	public static void main(String[] args) throws Exception {
+		if (args.length != 2 && args.length != 6) {
+			System.out.println("Usage: java Benchmarks.LoaderBenchmark <content_file> <sizeMB>"
+					+ " [customersPerOperator ordersPerCustomer corporateShare invalidRate]");
+			return;
+		}
+		String fileName = args[0];
+		ContentGenerator generator = ContentGenerator.fromArgs(args, 2);
+		generator.generate(fileName, Long.parseLong(args[1]) << 20);
+		int maxID = generator.lastID();
+		String snapshotName = fileName + ".snapshot";
+		System.out.printf("File: %s (%.1f MB, %d IDs)%n", fileName, new File(fileName).length() / (1024.0 * 1024.0), maxID);
+		
+		Harness slow = new Harness(1, 3);
+		slow.measure("load, sequential", () -> {
+			Harness.consume(new DeserializeDataFromFile(fileName));
+			return 1;
+		});
+		slow.measure("load, parallel", () -> {
+			Harness.consume(new DeserializeDataFromFile(fileName, true));
+			return 1;
+		});
+		DeserializeDataFromFile data = new DeserializeDataFromFile(fileName);
+		System.out.print(data.getValidationReport());
+		data.writeSnapshot(snapshotName);
+		slow.measure("load, snapshot", () -> {
+			Harness.consume(DeserializeDataFromFile.readSnapshot(snapshotName));
+			return 1;
+		});
+		new File(snapshotName).delete();
+		
+		// Random IDs over the whole range, so rejected and unknown IDs are looked up at their natural rate.
+		Random random = new Random(7);
+		int[] ids = new int[LOOKUPS];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = 1 + random.nextInt(maxID);
+		}
+		Harness fast = new Harness(5, 10);
+		fast.measure("lookup by ID", () -> {
+			long found = 0;
+			for (int id : ids) {
+				if (data.findOperatorByID(id) != null || data.findCustomerByID(id) != null) {
+					found++;
+				}
+			}
+			Harness.consume(found);
+			return ids.length;
+		});
+		
+		ScreenWriter out = new ScreenWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+		fast.measure("render screen", () -> {
+			for (int i = 0; i < SCREENS; i++) {
+				data.printScreen(ids[i], 1, Integer.MAX_VALUE, out);
+			}
+			return SCREENS;
+		});
+	}
+}
@@ -0,0 +1,105 @@
+package Benchmarks;
+
+import MyClasses.RecordParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Scanner;
+
+// Compares the Scanner + split + parseInt text path with RecordParser on the same generated file.
+public class ParserBenchmark {
+	private static final int ROUNDS = 3;
+	
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.out.println("Usage: java Benchmarks.ParserBenchmark <content_file> [sizeMB to generate]");
+			return;
+		}
+		File file = new File(args[0]);
+		if (args.length == 2) {
+			new ContentGenerator().generate(args[0], Long.parseLong(args[1]) << 20);
+		}
+		double megabytes = file.length() / (1024.0 * 1024.0);
+		System.out.printf("File: %s (%.1f MB)%n", file, megabytes);
+		
+		for (int round = 1; round <= ROUNDS; round++) {
+			long start = System.nanoTime();
+			long scannerChecksum = scannerPass(file);
+			double scannerSeconds = (System.nanoTime() - start) / 1e9;
+			
+			start = System.nanoTime();
+			long parserChecksum = parserPass(file);
+			double parserSeconds = (System.nanoTime() - start) / 1e9;
+			
+			if (scannerChecksum != parserChecksum) {
+				throw new IllegalStateException("Checksum mismatch: " + scannerChecksum + " != " + parserChecksum);
+			}
+			System.out.printf("Round %d: Scanner %.1f MB/s, RecordParser %.1f MB/s (x%.1f)%n",
+					round, megabytes / scannerSeconds, megabytes / parserSeconds, scannerSeconds / parserSeconds);
+		}
+	}
+	
+	// Same work the loader did before RecordParser: one String per line, split, then parseInt per numeric field.
+	private static long scannerPass(File file) throws IOException {
+		long checksum = 0;
+		try (Scanner scanner = new Scanner(file)) {
+			while (scanner.hasNextLine()) {
+				String[] parts = scanner.nextLine().split(";", -1);
+				int firstInt = firstIntField(parts[0], parts.length);
+				if (firstInt < 0) {
+					continue;
+				}
+				for (int f = 1; f < parts.length; f++) {
+					if (f >= firstInt && f < firstInt + intFieldCount(parts[0])) {
+						try {
+							checksum += Integer.parseInt(parts[f]);
+						} catch (NumberFormatException e) {
+							checksum--;
+						}
+					} else {
+						checksum += parts[f].length();
+					}
+				}
+			}
+		}
+		return checksum;
+	}
+	
+	private static long parserPass(File file) throws IOException {
+		long checksum = 0;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			RecordParser record = new RecordParser(channel);
+			while (record.nextRecord()) {
+				String type = record.string(0);
+				int firstInt = firstIntField(type, record.fieldCount());
+				if (firstInt < 0) {
+					continue;
+				}
+				for (int f = 1; f < record.fieldCount(); f++) {
+					if (f >= firstInt && f < firstInt + intFieldCount(type)) {
+						long value = record.intField(f);
+						checksum += value == RecordParser.INVALID_INT ? -1 : value;
+					} else {
+						checksum += record.string(f).length();
+					}
+				}
+			}
+		}
+		return checksum;
+	}
+	
+	private static int firstIntField(String type, int fieldCount) {
+		return switch (type) {
+			case "operator", "retail_customer" -> fieldCount == 7 ? 5 : -1;
+			case "corporate_customer" -> fieldCount == 8 ? 5 : -1;
+			case "order" -> fieldCount == 6 ? 2 : -1;
+			default -> -1;
+		};
+	}
+	
+	private static int intFieldCount(String type) {
+		return type.equals("order") ? 4 : 2;
+	}
+}
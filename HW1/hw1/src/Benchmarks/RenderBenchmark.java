@@ -0,0 +1,61 @@
+package Benchmarks;
+
+import MyClasses.Customer;
+import MyClasses.DeserializeDataFromFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+// Renders every customer screen of a loaded file into a discarding stdout-like stream and reports orders/second.
+public class RenderBenchmark {
+	private static final int ROUNDS = 5;
+	
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.out.println("Usage: java Benchmarks.RenderBenchmark <content_file> [sizeMB to generate]");
+			return;
+		}
+		if (args.length == 2) {
+			new ContentGenerator().generate(args[0], Long.parseLong(args[1]) << 20);
+		}
+		DeserializeDataFromFile data = new DeserializeDataFromFile(args[0]);
+		int[] customerIDs = data.buildOrderTable().customerIDs();
+		
+		// Configured like System.out: autoflush on println over a buffered stream.
+		PrintStream sink = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 8192), true);
+		PrintStream stdout = System.out;
+		for (int round = 1; round <= ROUNDS; round++) {
+			System.setOut(sink);
+			long orders = 0;
+			long start = System.nanoTime();
+			for (int id : customerIDs) {
+				orders += printLikeBefore(sink, data.findCustomerByID(id));
+			}
+			double printlnSeconds = (System.nanoTime() - start) / 1e9;
+			
+			start = System.nanoTime();
+			for (int id : customerIDs) {
+				data.findByIdAndPrint(id);
+			}
+			double screenSeconds = (System.nanoTime() - start) / 1e9;
+			System.setOut(stdout);
+			
+			System.out.printf("Round %d: println path %.0f orders/s, ScreenWriter path %.0f orders/s%n",
+					round, orders / printlnSeconds, orders / screenSeconds);
+		}
+	}
+	
+	// The customer screen as it was printed before ScreenWriter: one println per line and a StringBuilder per order.
+	private static int printLikeBefore(PrintStream out, Customer customer) {
+		out.println("*** Customer Screen ***");
+		out.println(customer);
+		for (int i = 0; i < customer.orderCount(); i++) {
+			out.print("Order #" + (i + 1) + " => ");
+			out.print(customer.getOrder(i));
+			out.println();
+		}
+		return customer.orderCount();
+	}
+}
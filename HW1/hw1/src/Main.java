@@ -1 +1 @@
-import MyClasses.DeserializeDataFromFile;import java.util.Scanner;public class Main {	final static String filePath = "src/content.txt";		public static void main(String[] args) {		DeserializeDataFromFile data = new DeserializeDataFromFile(filePath);				Scanner scanner = new Scanner(System.in);		System.out.println("Please enter your ID...");		int inputID = scanner.nextInt();		scanner.close();		data.findByIdAndPrint(inputID);	}}
\ No newline at end of file
+import MyClasses.DeserializeDataFromFile;import java.util.Scanner;public class Main {	final static String filePath = "src/content.txt";	final static String snapshotPath = "src/content.snapshot";	final static String reportPath = "src/content.rejects.txt";		public static void main(String[] args) {		DeserializeDataFromFile data = DeserializeDataFromFile.load(filePath, snapshotPath, reportPath);				Scanner scanner = new Scanner(System.in);		System.out.println("Please enter your ID...");		int inputID = scanner.nextInt();		scanner.close();		data.findByIdAndPrint(inputID);	}}
\ No newline at end of file
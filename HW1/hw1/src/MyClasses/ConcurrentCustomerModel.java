@@ -0,0 +1,41 @@
+package MyClasses;
+
+// Serves lookups from any number of threads while appended lines are ingested.
+// Ingest calls are serialized on a lock that readers never take; readers go through the ID indexes and entity stores,
+// which allow one writer and lock-free readers, so a lookup never waits for an ingest to finish.
+public class ConcurrentCustomerModel {
+	private final DeserializeDataFromFile model;
+	private final Object ingestLock = new Object();
+	
+	public ConcurrentCustomerModel(String filePath) {
+		this.model = new DeserializeDataFromFile(filePath);
+	}
+	
+	public ConcurrentCustomerModel(DeserializeDataFromFile model) {
+		this.model = model;
+	}
+	
+	// Reads the lines appended since the previous ingest; returns how many were consumed.
+	public int ingest() {
+		synchronized (ingestLock) {
+			return model.tail();
+		}
+	}
+	
+	public Operator findOperatorByID(int id) {
+		return model.findOperatorByID(id);
+	}
+	
+	public Customer findCustomerByID(int id) {
+		return model.findCustomerByID(id);
+	}
+	
+	// Each reader thread must pass its own writer.
+	public void findByIdAndPrint(int id, ScreenWriter out) {
+		model.printScreen(id, 1, Integer.MAX_VALUE, out);
+	}
+	
+	public void findByIdAndPrint(int id, int page, int pageSize, ScreenWriter out) {
+		model.printScreen(id, page, pageSize, out);
+	}
+}
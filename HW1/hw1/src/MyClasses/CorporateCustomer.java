@@ -8,11 +8,16 @@ public class CorporateCustomer extends Customer {
 		this.company_name = company_name;
 	}
 	
+	public String getCompany_name() {
+		return company_name;
+	}
+	
 	@Override
-	public void print_customer() {
-		System.out.println(super.toString());
-		System.out.println("Company name: " + company_name);
-		print_orders();
+	public void render_customer(ScreenWriter out, int from, int to) {
+		render(out);
+		out.newLine();
+		out.append("Company name: ").append(company_name).newLine();
+		render_orders(out, from, to);
 	}
 	
 }
\ No newline at end of file
@@ -1,42 +1,68 @@
 package MyClasses;
 
 public abstract class Customer extends Person {
-	private final Order[] orders;
+	private final EntityStore<Order> orders;
 	private final int operator_ID;
 	
 	public Customer(String name, String surname, String address, String phone, int ID, int operator_ID) {
 		super(name, surname, address, phone, ID);
 		this.operator_ID = operator_ID;
-		this.orders = new Order[100];
+		this.orders = new EntityStore<>();
 	}
 	
 	public int getOperator_ID() {
 		return this.operator_ID;
 	}
 	
+	public int orderCount() {
+		return orders.size();
+	}
+	
+	public Order getOrder(int index) {
+		return orders.get(index);
+	}
+	
 	public void print_customer() {
-		System.out.println(this);
-		print_orders();
+		ScreenWriter out = ScreenWriter.systemOut();
+		render_customer(out, 0, orders.size());
+		out.flush();
 	}
 	
 	public void print_orders() {
-		for (int i = 0; orders[i] != null; i++) {
-			System.out.print("Order #" + (i + 1) + " => ");
-			orders[i].print_order();
-			System.out.println();
-		}
+		ScreenWriter out = ScreenWriter.systemOut();
+		render_orders(out, 0, orders.size());
+		out.flush();
+	}
+	
+	// Renders the customer header followed by orders [from, to).
+	public void render_customer(ScreenWriter out, int from, int to) {
+		render(out);
+		out.newLine();
+		render_orders(out, from, to);
 	}
 	
-	public void define_orders(Order[] iOrders) {
-		int index = 0;
-		for (int i = 0; iOrders[i] != null; i++) {
-			Order ord = iOrders[i];
-			if (this.getID() == ord.getCustomer_ID()) {
-				this.orders[index++] = ord;
-			}
+	public void render_orders(ScreenWriter out, int from, int to) {
+		for (int i = from; i < Math.min(to, orders.size()); i++) {
+			out.append("Order #").append(i + 1).append(" => ");
+			orders.get(i).render(out);
+			out.newLine();
 		}
 	}
 	
+	public void add_order(Order order) {
+		orders.add(order);
+	}
+	
+	public void compact() {
+		orders.compact();
+	}
+	
+	@Override
+	public void render(ScreenWriter out) {
+		super.render(out);
+		out.append("\nOperator ID: ").append(operator_ID);
+	}
+	
 	@Override
 	public String toString() {
 		return super.toString() + "\n" + "Operator ID: " + operator_ID;
@@ -3,224 +3,491 @@
 package MyClasses;
 
 import java.io.File;
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import MyClasses.ValidationReport.Reason;
+import MyClasses.ValidationReport.RecordType;
 
 public class DeserializeDataFromFile {
-	private final Operator[] operators = new Operator[100];
-	private final Customer[] customers = new Customer[100];
-	private final Order[] orders = new Order[100];
+	private static final byte[] OPERATOR = "operator".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] RETAIL_CUSTOMER = "retail_customer".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] CORPORATE_CUSTOMER = "corporate_customer".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] ORDER = "order".getBytes(StandardCharsets.US_ASCII);
+	private static final long PARALLEL_CHUNK_SIZE = 1 << 25;
+	
+	private final EntityStore<Operator> operators = new EntityStore<>();
+	private final EntityStore<Customer> customers = new EntityStore<>();
+	private final EntityStore<Order> orders = new EntityStore<>();
+	
+	private final IntIndex operatorIndex = new IntIndex();
+	private final IntIndex customerIndex = new IntIndex();
 	
-	private int operatorCount = 0;
-	private int customerCount = 0;
-	private int orderCount = 0;
+	private int linkedOperators = 0;
+	private int linkedCustomers = 0;
+	private int linkedOrders = 0;
+	private EntityStore<Customer> unlinkedCustomers = new EntityStore<>();
+	private EntityStore<Order> unlinkedOrders = new EntityStore<>();
+	
+	private String sourcePath;
+	private long consumedOffset = 0;
+	private long consumedLines = 0;
+	private final ValidationReport report = new ValidationReport();
 	
 	public DeserializeDataFromFile(String filePath) {
-		readDataFromFile(filePath);
+		this(filePath, false);
+	}
+	
+	public DeserializeDataFromFile(String filePath, boolean parallel) {
+		sourcePath = filePath;
+		if (parallel) {
+			readDataFromFileInParallel(filePath);
+		} else {
+			readDataFromFile(filePath);
+		}
+		finishLoading();
+	}
+	
+	DeserializeDataFromFile() {
+	}
+	
+	// Reads the snapshot when it is at least as new as the text file and was taken up to the file's last complete line;
+	// otherwise (or if the snapshot is damaged or from an older format) parses the file, refreshes the snapshot and writes
+	// the validation report of the parse to reportPath. A snapshot holds the same data as the parse that wrote it, so the
+	// report on disk stays current across snapshot loads.
+	public static DeserializeDataFromFile load(String filePath, String snapshotPath, String reportPath) {
+		File file = new File(filePath);
+		File snapshot = new File(snapshotPath);
+		if (snapshot.isFile() && snapshot.lastModified() >= file.lastModified()) {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				DeserializeDataFromFile data = ModelSnapshot.read(snapshotPath);
+				if (data.consumedOffset == RecordParser.lastLineEnd(channel)) {
+					data.sourcePath = filePath;
+					return data;
+				}
+			} catch (IOException e) {
+				// Unreadable snapshot: rebuild it from the text file below.
+			}
+		}
+		DeserializeDataFromFile data = new DeserializeDataFromFile(filePath);
+		data.writeSnapshot(snapshotPath);
+		data.report.writeTo(reportPath);
+		return data;
+	}
+	
+	public static DeserializeDataFromFile readSnapshot(String snapshotPath) {
+		try {
+			return ModelSnapshot.read(snapshotPath);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read snapshot " + snapshotPath, e);
+		}
+	}
+	
+	public void writeSnapshot(String snapshotPath) {
+		try {
+			ModelSnapshot.write(this, snapshotPath);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write snapshot " + snapshotPath, e);
+		}
+	}
+	
+	// Reads only the complete lines appended to the source file since the last load or tail, validates them against the
+	// live indexes and links them into the model. Returns the number of lines consumed.
+	public int tail() {
+		if (sourcePath == null) {
+			throw new IllegalStateException("No source file to tail");
+		}
+		try (FileChannel channel = FileChannel.open(Path.of(sourcePath), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < consumedOffset) {
+				throw new IllegalStateException(sourcePath + " is shorter than the " + consumedOffset + " bytes already read");
+			}
+			RecordParser record = new RecordParser(channel, RecordParser.continueAfter(channel, consumedOffset), size, false);
+			int lines = readRecords(record);
+			consumedOffset = record.position();
+			linkRelationships();
+			return lines;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read the lines appended to " + sourcePath, e);
+		}
+	}
+	
+	long getConsumedOffset() {
+		return consumedOffset;
+	}
+	
+	void setConsumedOffset(long consumedOffset) {
+		this.consumedOffset = consumedOffset;
+	}
+	
+	long getConsumedLines() {
+		return consumedLines;
+	}
+	
+	void setConsumedLines(long consumedLines) {
+		this.consumedLines = consumedLines;
+	}
+	
+	// Accepted and rejected line counts of everything parsed by this instance; a snapshot load starts it empty.
+	public ValidationReport getValidationReport() {
+		return report;
+	}
+	
+	public OrderTable buildOrderTable() {
+		return new OrderTable(orders, customers, operators, customerIndex, operatorIndex);
+	}
+	
+	// Operators first, then customers, each in load order. Records added later by tail() are not included; pass them to
+	// PersonIndex.add or build a new index.
+	public PersonIndex buildSearchIndex() {
+		PersonIndex index = new PersonIndex();
+		for (int i = 0; i < operators.size(); i++) {
+			index.add(operators.get(i));
+		}
+		for (int i = 0; i < customers.size(); i++) {
+			index.add(customers.get(i));
+		}
+		return index;
+	}
+	
+	EntityStore<Operator> getOperators() {
+		return operators;
+	}
+	
+	EntityStore<Customer> getCustomers() {
+		return customers;
+	}
+	
+	EntityStore<Order> getOrders() {
+		return orders;
 	}
 	
 	public void findByIdAndPrint(int id) {
+		findByIdAndPrint(id, 1, Integer.MAX_VALUE);
+	}
+	
+	// Prints one page of an operator's customers or a customer's orders; pages are numbered from 1 and hold at least one
+	// item.
+	public void findByIdAndPrint(int id, int page, int pageSize) {
+		printScreen(id, page, pageSize, ScreenWriter.systemOut());
+	}
+	
+	// Same screen as findByIdAndPrint, written to the caller's writer. Safe to call from reader threads while one
+	// thread runs tail(), as long as each reader uses its own writer.
+	public void printScreen(int id, int page, int pageSize, ScreenWriter out) {
+		if (page < 1 || pageSize < 1) {
+			throw new IllegalArgumentException("Page and page size must be at least 1: page " + page + ", page size " + pageSize);
+		}
 		Operator operator = findOperatorByID(id);
 		Customer customer = findCustomerByID(id);
+		int from = (int) Math.min((long) (page - 1) * pageSize, Integer.MAX_VALUE);
+		int to = (int) Math.min((long) from + pageSize, Integer.MAX_VALUE);
 		
 		if (operator != null) {
-			System.out.println("*** Operator Screen ***");
-			operator.print_operator();
+			out.line("*** Operator Screen ***");
+			operator.render_operator(out, from, to);
+			printPageFooter(out, page, pageSize, operator.customerCount());
 		} else if (customer != null) {
-			System.out.println("*** Customer Screen ***");
-			customer.print_customer();
+			out.line("*** Customer Screen ***");
+			customer.render_customer(out, from, to);
+			printPageFooter(out, page, pageSize, customer.orderCount());
 		} else {
-			System.out.println("No operator/customer was found with ID " + id + ". Please try again.");
+			out.line("No operator/customer was found with ID " + id + ". Please try again.");
 		}
+		out.flush();
 	}
 	
-	private Operator findOperatorByID(int id) {
-		for (int i = 0; i < operatorCount; i++) {
-			if (operators[i].getID() == id) {
-				return operators[i];
-			}
+	private void printPageFooter(ScreenWriter out, int page, int pageSize, int itemCount) {
+		int pageCount = Math.max(1, (int) ((itemCount + (long) pageSize - 1) / pageSize));
+		if (pageCount > 1) {
+			out.append("Page ").append(page).append(" of ").append(pageCount).newLine();
 		}
-		return null;
 	}
 	
-	private Customer findCustomerByID(int id) {
-		for (int i = 0; i < customerCount; i++) {
-			if (customers[i].getID() == id) {
-				return customers[i];
+	public Operator findOperatorByID(int id) {
+		int slot = operatorIndex.get(id);
+		return slot == IntIndex.NOT_FOUND ? null : operators.get(slot);
+	}
+	
+	public Customer findCustomerByID(int id) {
+		int slot = customerIndex.get(id);
+		return slot == IntIndex.NOT_FOUND ? null : customers.get(slot);
+	}
+	
+	private boolean isTakenID(int id) {
+		return operatorIndex.contains(id) || customerIndex.contains(id);
+	}
+	
+	// Links the records added since the previous call. Records whose operator or customer hasn't been read yet wait in
+	// the unlinked stores and are retried when new operators or customers arrive, so line order doesn't matter.
+	private void linkRelationships() {
+		if (operators.size() > linkedOperators && !unlinkedCustomers.isEmpty()) {
+			EntityStore<Customer> waiting = unlinkedCustomers;
+			unlinkedCustomers = new EntityStore<>();
+			for (int i = 0; i < waiting.size(); i++) {
+				linkCustomer(waiting.get(i));
 			}
 		}
-		return null;
+		for (int i = linkedCustomers; i < customers.size(); i++) {
+			linkCustomer(customers.get(i));
+		}
+		if (customers.size() > linkedCustomers && !unlinkedOrders.isEmpty()) {
+			EntityStore<Order> waiting = unlinkedOrders;
+			unlinkedOrders = new EntityStore<>();
+			for (int i = 0; i < waiting.size(); i++) {
+				linkOrder(waiting.get(i));
+			}
+		}
+		for (int i = linkedOrders; i < orders.size(); i++) {
+			linkOrder(orders.get(i));
+		}
+		linkedOperators = operators.size();
+		linkedCustomers = customers.size();
+		linkedOrders = orders.size();
 	}
 	
-	private void readDataFromFile(String fileName) {
-		try {
-			File file = new File(fileName);
-			Scanner scanner = new Scanner(file);
-			while (scanner.hasNextLine()) {
-				String line = scanner.nextLine();
-				String[] parts = line.split(";", -1);
-				if (isValidLine(parts)) {
-					switch (parts[0]) {
-						case "operator":
-							if (operatorCount < 100) {
-								operators[operatorCount] = new Operator(parts[1], parts[2], parts[3], parts[4], Integer.parseInt(parts[5]), Integer.parseInt(parts[6]));
-								operators[operatorCount].define_customers(customers);
-								operatorCount++;
-							}
-							break;
-						case "retail_customer":
-							if (customerCount < 100) {
-								customers[customerCount] = new RetailCustomer(parts[1], parts[2], parts[3], parts[4], Integer.parseInt(parts[5]), Integer.parseInt(parts[6]));
-								customers[customerCount].define_orders(orders);
-								customerCount++;
-							}
-							break;
-						case "corporate_customer":
-							if (customerCount < 100) {
-								customers[customerCount] = new CorporateCustomer(parts[1], parts[2], parts[3], parts[4], Integer.parseInt(parts[5]), Integer.parseInt(parts[6]), parts[7]);
-								customers[customerCount].define_orders(orders);
-								customerCount++;
-							}
-							break;
-						case "order":
-							if (orderCount < 100) {
-								orders[orderCount++] = new Order(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
-							}
-							break;
-						default:
-							break;
-					}
-				}
-			}
-			scanner.close();
-		} catch (Exception e) {
-			throw new RuntimeException();
+	private void linkCustomer(Customer customer) {
+		int slot = operatorIndex.get(customer.getOperator_ID());
+		if (slot != IntIndex.NOT_FOUND) {
+			operators.get(slot).add_customer(customer);
+		} else {
+			unlinkedCustomers.add(customer);
+		}
+	}
+	
+	private void linkOrder(Order order) {
+		int slot = customerIndex.get(order.getCustomer_ID());
+		if (slot != IntIndex.NOT_FOUND) {
+			customers.get(slot).add_order(order);
+		} else {
+			unlinkedOrders.add(order);
 		}
 	}
 	
-	private boolean isValidLine(String[] parts) {
-		return switch (parts[0]) {
-			case "operator" -> isValidOperator(parts);
-			case "retail_customer" -> isValidRetailCustomer(parts);
-			case "corporate_customer" -> isValidCorporateCustomer(parts);
-			case "order" -> isValidOrder(parts);
-			default -> false;
-		};
+	final void finishLoading() {
+		linkRelationships();
+		compact();
 	}
 	
-	private boolean isValidOperator(String[] parts) {
-		if (parts.length != 7) {
-			return false;
+	private void compact() {
+		operators.compact();
+		customers.compact();
+		orders.compact();
+		unlinkedCustomers.compact();
+		unlinkedOrders.compact();
+		for (int i = 0; i < operators.size(); i++) {
+			operators.get(i).compact();
 		}
-		for (var in : parts) {
-			if (in.trim().isEmpty()) {
-				return false;
-			}
+		for (int i = 0; i < customers.size(); i++) {
+			customers.get(i).compact();
 		}
-		try {
-			int id = Integer.parseInt(parts[5]);
-			int wage = Integer.parseInt(parts[6]);
-			if (id <= 0 || wage <= 0) {
-				return false;
+	}
+	
+	// A last line without a terminator may still be being written, so it is left for tail() to read once it is complete.
+	private void readDataFromFile(String fileName) {
+		try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+			RecordParser record = new RecordParser(channel, 0, channel.size(), false);
+			readRecords(record);
+			consumedOffset = record.position();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read " + fileName, e);
+		}
+	}
+	
+	// Decodes and accepts every record of the parser's region, numbering lines on from the ones already consumed.
+	private int readRecords(RecordParser record) throws IOException {
+		long firstLine = consumedLines;
+		while (record.nextRecord()) {
+			long line = firstLine + record.lineNumber();
+			acceptLine(decodeRecord(record, report, line), line);
+		}
+		consumedLines = firstLine + record.lineNumber();
+		return (int) record.lineNumber();
+	}
+	
+	// Chunks are decoded concurrently, but merged in file order so duplicate IDs resolve exactly as in a sequential load.
+	private void readDataFromFileInParallel(String fileName) {
+		try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+			long size = channel.size();
+			List<ForkJoinTask<DecodedChunk>> chunks = new ArrayList<>();
+			long start = 0;
+			while (start < size) {
+				long end = start + PARALLEL_CHUNK_SIZE >= size ? size : RecordParser.nextLineStart(channel, start + PARALLEL_CHUNK_SIZE);
+				long chunkStart = start;
+				chunks.add(ForkJoinPool.commonPool().submit(() -> decodeChunk(channel, chunkStart, end)));
+				start = end;
 			}
-			for (int i = 0; i < operatorCount; i++) {
-				if (operators[i].getID() == id) {
-					return false;
+			for (ForkJoinTask<DecodedChunk> task : chunks) {
+				DecodedChunk chunk = task.join();
+				report.merge(chunk.rejects, consumedLines);
+				for (int i = 0; i < chunk.records.size(); i++) {
+					acceptLine(chunk.records.get(i), consumedLines + chunk.lines[i]);
 				}
+				consumedLines += chunk.lineCount;
+				consumedOffset = chunk.end;
 			}
-			for (int i = 0; i < customerCount; i++) {
-				if (customers[i].getID() == id) {
-					return false;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read " + fileName, e);
+		}
+	}
+	
+	// Entities decoded from one chunk, with their chunk-relative line numbers, the chunk's syntax rejects and the offset just
+	// past its last complete line.
+	private static final class DecodedChunk {
+		final EntityStore<Object> records = new EntityStore<>();
+		final ValidationReport rejects = new ValidationReport();
+		long[] lines = new long[16];
+		long lineCount = 0;
+		long end = 0;
+	}
+	
+	// Every chunk but the last ends at a line start; the last one, like a sequential load, stops before an unterminated
+	// last line.
+	private DecodedChunk decodeChunk(FileChannel channel, long start, long end) throws IOException {
+		DecodedChunk chunk = new DecodedChunk();
+		RecordParser record = new RecordParser(channel, start, end, false);
+		while (record.nextRecord()) {
+			Object entity = decodeRecord(record, chunk.rejects, record.lineNumber());
+			if (entity != null) {
+				int i = chunk.records.add(entity);
+				if (i == chunk.lines.length) {
+					chunk.lines = Arrays.copyOf(chunk.lines, i << 1);
 				}
+				chunk.lines[i] = record.lineNumber();
 			}
-		} catch (Exception e) {
-			return false;
 		}
-		return true;
+		chunk.lineCount = record.lineNumber();
+		chunk.end = record.position();
+		return chunk;
 	}
 	
-	private boolean isValidRetailCustomer(String[] parts) {
-		if (parts.length != 7) {
-			return false;
+	// Builds the entity for a well-formed line; otherwise records why it was rejected and returns null. Only reads the
+	// parser and writes to the given report, so chunks can decode concurrently into reports of their own.
+	private Object decodeRecord(RecordParser record, ValidationReport rejects, long line) {
+		RecordType type = recordType(record);
+		Reason reason;
+		if (type == RecordType.OPERATOR || type == RecordType.RETAIL_CUSTOMER) {
+			reason = validatePerson(record, 7);
+		} else if (type == RecordType.CORPORATE_CUSTOMER) {
+			reason = validatePerson(record, 8);
+		} else if (type == RecordType.ORDER) {
+			reason = validateOrder(record);
+		} else {
+			reason = Reason.UNKNOWN_TYPE;
 		}
-		for (var in : parts) {
-			if (in.trim().isEmpty()) {
-				return false;
-			}
+		if (reason != null) {
+			rejects.reject(type, reason, line, rejects.wantsSample(reason) ? record.line() : null);
+			return null;
 		}
-		try {
-			int id = Integer.parseInt(parts[5]);
-			int operator_id = Integer.parseInt(parts[6]);
-			if (id <= 0 || operator_id <= 0) {
-				return false;
-			}
-			for (int i = 0; i < operatorCount; i++) {
-				if (operators[i].getID() == id) {
-					return false;
-				}
-			}
-			for (int i = 0; i < customerCount; i++) {
-				if (customers[i].getID() == id) {
-					return false;
-				}
-			}
-		} catch (Exception e) {
-			return false;
+		if (type == RecordType.OPERATOR) {
+			return new Operator(record.string(1), record.string(2), record.string(3), record.string(4), (int) record.intField(5), (int) record.intField(6));
+		} else if (type == RecordType.RETAIL_CUSTOMER) {
+			return new RetailCustomer(record.string(1), record.string(2), record.string(3), record.string(4), (int) record.intField(5), (int) record.intField(6));
+		} else if (type == RecordType.CORPORATE_CUSTOMER) {
+			return new CorporateCustomer(record.string(1), record.string(2), record.string(3), record.string(4), (int) record.intField(5), (int) record.intField(6), record.string(7));
 		}
-		return true;
+		return new Order(record.string(1), (int) record.intField(2), (int) record.intField(3), (int) record.intField(4), (int) record.intField(5));
 	}
 	
-	private boolean isValidCorporateCustomer(String[] parts) {
-		if (parts.length != 8) {
-			return false;
+	private static RecordType recordType(RecordParser record) {
+		if (record.fieldEquals(0, OPERATOR)) {
+			return RecordType.OPERATOR;
+		} else if (record.fieldEquals(0, RETAIL_CUSTOMER)) {
+			return RecordType.RETAIL_CUSTOMER;
+		} else if (record.fieldEquals(0, CORPORATE_CUSTOMER)) {
+			return RecordType.CORPORATE_CUSTOMER;
+		} else if (record.fieldEquals(0, ORDER)) {
+			return RecordType.ORDER;
 		}
-		for (var in : parts) {
-			if (in.trim().isEmpty()) {
-				return false;
-			}
+		return RecordType.UNKNOWN;
+	}
+	
+	private static RecordType recordType(Object entity) {
+		if (entity instanceof Operator) {
+			return RecordType.OPERATOR;
+		} else if (entity instanceof CorporateCustomer) {
+			return RecordType.CORPORATE_CUSTOMER;
+		} else if (entity instanceof Customer) {
+			return RecordType.RETAIL_CUSTOMER;
 		}
-		try {
-			int id = Integer.parseInt(parts[5]);
-			int operator_id = Integer.parseInt(parts[6]);
-			if (id <= 0 || operator_id <= 0) {
+		return RecordType.ORDER;
+	}
+	
+	private void acceptLine(Object entity, long line) {
+		if (entity == null) {
+			return;
+		}
+		if (acceptRecord(entity)) {
+			report.accept(recordType(entity));
+		} else {
+			int id = entity instanceof Person person ? person.getID() : 0;
+			report.reject(recordType(entity), Reason.DUPLICATE_ID, line, "ID " + id + " is already taken");
+		}
+	}
+	
+	// The first operator or customer seen with an ID wins; later ones with the same ID are dropped and return false.
+	final boolean acceptRecord(Object entity) {
+		if (entity instanceof Operator operator) {
+			if (isTakenID(operator.getID())) {
 				return false;
 			}
-			for (int i = 0; i < operatorCount; i++) {
-				if (operators[i].getID() == id) {
-					return false;
-				}
-			}
-			for (int i = 0; i < customerCount; i++) {
-				if (customers[i].getID() == id) {
-					return false;
-				}
+			operatorIndex.putIfAbsent(operator.getID(), operators.add(operator));
+		} else if (entity instanceof Customer customer) {
+			if (isTakenID(customer.getID())) {
+				return false;
 			}
-		} catch (Exception e) {
-			return false;
+			customerIndex.putIfAbsent(customer.getID(), customers.add(customer));
+		} else if (entity instanceof Order order) {
+			orders.add(order);
 		}
 		return true;
 	}
 	
-	private boolean isValidOrder(String[] parts) {
-		if (parts.length != 6) {
-			return false;
+	// The checks run in the order the line validator always applied them: field count, blank fields, numbers, ranges.
+	// Operators and both customer types keep their two IDs in fields 5 and 6.
+	private static Reason validatePerson(RecordParser record, int fieldCount) {
+		Reason reason = validateFields(record, fieldCount, 5, 6);
+		if (reason != null) {
+			return reason;
 		}
-		for (var in : parts) {
-			if (in.trim().isEmpty()) {
-				return false;
-			}
+		return record.intField(5) > 0 && record.intField(6) > 0 ? null : Reason.OUT_OF_RANGE;
+	}
+	
+	private static Reason validateOrder(RecordParser record) {
+		Reason reason = validateFields(record, 6, 2, 5);
+		if (reason != null) {
+			return reason;
 		}
-		try {
-			int count = Integer.parseInt(parts[2]);
-			int totalPrice = Integer.parseInt(parts[3]);
-			int status = Integer.parseInt(parts[4]);
-			int customerID = Integer.parseInt(parts[5]);
-			if (customerID <= 0 || status < 0 || status > 3
-					|| count <= 0 || totalPrice <= 0) {
-				return false;
+		long count = record.intField(2);
+		long totalPrice = record.intField(3);
+		long status = record.intField(4);
+		long customerID = record.intField(5);
+		return customerID > 0 && status >= 0 && status <= 3
+				&& count > 0 && totalPrice > 0 ? null : Reason.OUT_OF_RANGE;
+	}
+	
+	// Fields firstNumber..lastNumber must hold ints; a null result means the line is well-formed.
+	private static Reason validateFields(RecordParser record, int fieldCount, int firstNumber, int lastNumber) {
+		if (record.fieldCount() != fieldCount) {
+			return Reason.FIELD_COUNT;
+		}
+		if (record.hasBlankField()) {
+			return Reason.BLANK_FIELD;
+		}
+		for (int f = firstNumber; f <= lastNumber; f++) {
+			if (record.intField(f) == RecordParser.INVALID_INT) {
+				return Reason.NOT_A_NUMBER;
 			}
-		} catch (Exception e) {
-			return false;
 		}
-		return true;
+		return null;
 	}
 }
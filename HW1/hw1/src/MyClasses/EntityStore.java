@@ -0,0 +1,72 @@
+package MyClasses;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+// Growable array-backed store with amortized doubling and an explicit compaction step.
+// One thread may add while others read: add() publishes the element before the new size, and readers load the size
+// before the array, so get(i) for any i < size() sees a fully written element.
+public class EntityStore<T> {
+	private static final Object[] EMPTY = {};
+	private static final int MIN_GROWTH = 4;
+	private static final VarHandle ELEMENTS;
+	private static final VarHandle SIZE;
+	
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			ELEMENTS = lookup.findVarHandle(EntityStore.class, "elements", Object[].class);
+			SIZE = lookup.findVarHandle(EntityStore.class, "size", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	private Object[] elements;
+	private int size = 0;
+	
+	public EntityStore() {
+		this.elements = EMPTY;
+	}
+	
+	public EntityStore(int initialCapacity) {
+		this.elements = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+	}
+	
+	public int size() {
+		return (int) SIZE.getAcquire(this);
+	}
+	
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+	
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		int currentSize = size();
+		if (index < 0 || index >= currentSize) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+		}
+		return (T) ((Object[]) ELEMENTS.getAcquire(this))[index];
+	}
+	
+	// Returns the index the element was stored at.
+	public int add(T element) {
+		Object[] current = elements;
+		if (size == current.length) {
+			current = Arrays.copyOf(current, Math.max(MIN_GROWTH, current.length << 1));
+			ELEMENTS.setRelease(this, current);
+		}
+		current[size] = element;
+		SIZE.setRelease(this, size + 1);
+		return size - 1;
+	}
+	
+	// Drops the unused tail capacity once loading is finished.
+	public void compact() {
+		if (size < elements.length) {
+			ELEMENTS.setRelease(this, size == 0 ? EMPTY : Arrays.copyOf(elements, size));
+		}
+	}
+}
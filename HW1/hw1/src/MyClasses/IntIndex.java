@@ -0,0 +1,113 @@
+package MyClasses;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Open-addressing (linear probing) map from an int key to a non-negative int slot, kept in primitive arrays.
+// One thread may insert while others look up: a bucket's slot is published after its key, and a grown table is only
+// published once it is fully built, so readers never need a lock.
+public class IntIndex {
+	public static final int NOT_FOUND = -1;
+	
+	private static final int MIN_CAPACITY = 16;
+	private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(int[].class);
+	private static final VarHandle TABLE;
+	
+	static {
+		try {
+			TABLE = MethodHandles.lookup().findVarHandle(IntIndex.class, "table", Table.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	private static final class Table {
+		final int[] keys;
+		final int[] slots; // slot + 1, so that 0 marks an empty bucket
+		final int mask;
+		
+		Table(int capacity) {
+			keys = new int[capacity];
+			slots = new int[capacity];
+			mask = capacity - 1;
+		}
+	}
+	
+	private Table table;
+	private int size = 0;
+	
+	public IntIndex() {
+		this(MIN_CAPACITY);
+	}
+	
+	public IntIndex(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		table = new Table(capacity);
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean contains(int key) {
+		return get(key) != NOT_FOUND;
+	}
+	
+	public int get(int key) {
+		Table t = (Table) TABLE.getAcquire(this);
+		int i = hash(key) & t.mask;
+		int slot;
+		while ((slot = (int) SLOT.getAcquire(t.slots, i)) != 0) {
+			if (t.keys[i] == key) {
+				return slot - 1;
+			}
+			i = (i + 1) & t.mask;
+		}
+		return NOT_FOUND;
+	}
+	
+	// Returns the slot already stored for the key, or NOT_FOUND if the key was absent and has been inserted.
+	public int putIfAbsent(int key, int slot) {
+		if (slot < 0) {
+			throw new IllegalArgumentException("Slot must be non-negative: " + slot);
+		}
+		Table t = table;
+		int i = hash(key) & t.mask;
+		while (t.slots[i] != 0) {
+			if (t.keys[i] == key) {
+				return t.slots[i] - 1;
+			}
+			i = (i + 1) & t.mask;
+		}
+		t.keys[i] = key;
+		SLOT.setRelease(t.slots, i, slot + 1);
+		if (++size * 2 > t.keys.length) {
+			grow();
+		}
+		return NOT_FOUND;
+	}
+	
+	private void grow() {
+		Table old = table;
+		Table t = new Table(old.keys.length << 1);
+		for (int j = 0; j < old.keys.length; j++) {
+			if (old.slots[j] != 0) {
+				int i = hash(old.keys[j]) & t.mask;
+				while (t.slots[i] != 0) {
+					i = (i + 1) & t.mask;
+				}
+				t.keys[i] = old.keys[j];
+				t.slots[i] = old.slots[j];
+			}
+		}
+		TABLE.setRelease(this, t);
+	}
+	
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
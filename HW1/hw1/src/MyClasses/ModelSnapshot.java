@@ -0,0 +1,226 @@
+package MyClasses;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+// Binary image of a loaded model: a string dictionary followed by one int column per entity field.
+class ModelSnapshot {
+	private static final int MAGIC = 0x48573153; // "HW1S"
+	private static final int VERSION = 3;
+	private static final int NO_STRING = -1;
+	private static final int HEADER_BYTES = 6 * Integer.BYTES + 2 * Long.BYTES;
+	
+	private static final int RETAIL = 0;
+	private static final int CORPORATE = 1;
+	
+	private final HashMap<String, Integer> dictionary = new HashMap<>();
+	private final EntityStore<String> strings = new EntityStore<>();
+	
+	static void write(DeserializeDataFromFile data, String snapshotPath) throws IOException {
+		new ModelSnapshot().writeColumns(data, snapshotPath);
+	}
+	
+	// Writes to a temporary file next to the snapshot and renames it into place, so a crash mid-write never leaves a
+	// partial snapshot that is newer than the text file.
+	private void writeColumns(DeserializeDataFromFile data, String snapshotPath) throws IOException {
+		EntityStore<Operator> operators = data.getOperators();
+		EntityStore<Customer> customers = data.getCustomers();
+		EntityStore<Order> orders = data.getOrders();
+		
+		int[][] operatorColumns = new int[6][operators.size()];
+		for (int i = 0; i < operators.size(); i++) {
+			Operator operator = operators.get(i);
+			putPerson(operatorColumns, i, operator);
+			operatorColumns[5][i] = operator.getWage();
+		}
+		int[][] customerColumns = new int[8][customers.size()];
+		for (int i = 0; i < customers.size(); i++) {
+			Customer customer = customers.get(i);
+			putPerson(customerColumns, i, customer);
+			customerColumns[5][i] = customer.getOperator_ID();
+			if (customer instanceof CorporateCustomer corporate) {
+				customerColumns[6][i] = CORPORATE;
+				customerColumns[7][i] = intern(corporate.getCompany_name());
+			} else {
+				customerColumns[6][i] = RETAIL;
+				customerColumns[7][i] = NO_STRING;
+			}
+		}
+		int[][] orderColumns = new int[5][orders.size()];
+		for (int i = 0; i < orders.size(); i++) {
+			Order order = orders.get(i);
+			orderColumns[0][i] = intern(order.getProduct_name());
+			orderColumns[1][i] = order.getCount();
+			orderColumns[2][i] = order.getTotal_price();
+			orderColumns[3][i] = order.getStatus();
+			orderColumns[4][i] = order.getCustomer_ID();
+		}
+		
+		Path target = Path.of(snapshotPath).toAbsolutePath();
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		try {
+			writeFile(temp, data, operatorColumns, customerColumns, orderColumns);
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	private void writeFile(Path path, DeserializeDataFromFile data, int[][] operatorColumns, int[][] customerColumns, int[][] orderColumns) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile()), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(strings.size());
+			out.writeInt(operatorColumns[0].length);
+			out.writeInt(customerColumns[0].length);
+			out.writeInt(orderColumns[0].length);
+			out.writeLong(data.getConsumedOffset());
+			out.writeLong(data.getConsumedLines());
+			
+			byte[][] encoded = new byte[strings.size()][];
+			int offset = 0;
+			out.writeInt(offset);
+			for (int i = 0; i < strings.size(); i++) {
+				encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+				offset += encoded[i].length;
+				out.writeInt(offset);
+			}
+			for (byte[] bytes : encoded) {
+				out.write(bytes);
+			}
+			writeColumns(out, operatorColumns);
+			writeColumns(out, customerColumns);
+			writeColumns(out, orderColumns);
+		}
+	}
+	
+	private void putPerson(int[][] columns, int row, Person person) {
+		columns[0][row] = intern(person.getName());
+		columns[1][row] = intern(person.getSurname());
+		columns[2][row] = intern(person.getAddress());
+		columns[3][row] = intern(person.getPhone());
+		columns[4][row] = person.getID();
+	}
+	
+	private int intern(String value) {
+		Integer id = dictionary.get(value);
+		if (id == null) {
+			id = strings.add(value);
+			dictionary.put(value, id);
+		}
+		return id;
+	}
+	
+	private static void writeColumns(DataOutputStream out, int[][] columns) throws IOException {
+		for (int[] column : columns) {
+			for (int value : column) {
+				out.writeInt(value);
+			}
+		}
+	}
+	
+	// Every length in the header is checked against the file size, and a string reference outside the dictionary is
+	// reported the same way, so a truncated or damaged snapshot fails with an IOException instead of a buffer error.
+	static DeserializeDataFromFile read(String snapshotPath) throws IOException {
+		try (FileChannel channel = FileChannel.open(Path.of(snapshotPath), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_BYTES) {
+				throw new IOException("Not a model snapshot: " + snapshotPath);
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Not a model snapshot: " + snapshotPath);
+			}
+			int stringCount = buffer.getInt();
+			int operatorCount = buffer.getInt();
+			int customerCount = buffer.getInt();
+			int orderCount = buffer.getInt();
+			long consumedOffset = buffer.getLong();
+			long consumedLines = buffer.getLong();
+			if (stringCount < 0 || operatorCount < 0 || customerCount < 0 || orderCount < 0
+					|| size < HEADER_BYTES + (stringCount + 1L) * Integer.BYTES) {
+				throw new IOException("Truncated model snapshot: " + snapshotPath);
+			}
+			
+			int[] offsets = readColumn(buffer, stringCount + 1);
+			for (int i = 0; i < stringCount; i++) {
+				if (offsets[i] < 0 || offsets[i] > offsets[i + 1]) {
+					throw new IOException("Corrupt string dictionary in model snapshot: " + snapshotPath);
+				}
+			}
+			long columnBytes = (6L * operatorCount + 8L * customerCount + 5L * orderCount) * Integer.BYTES;
+			if (offsets[0] != 0 || size != buffer.position() + (long) offsets[stringCount] + columnBytes) {
+				throw new IOException("Truncated model snapshot: " + snapshotPath);
+			}
+			String[] strings = new String[stringCount];
+			byte[] bytes = new byte[offsets[stringCount]];
+			buffer.get(bytes);
+			for (int i = 0; i < stringCount; i++) {
+				strings[i] = new String(bytes, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+			}
+			
+			try {
+				return rebuild(buffer, strings, operatorCount, customerCount, orderCount, consumedOffset, consumedLines);
+			} catch (ArrayIndexOutOfBoundsException e) {
+				throw new IOException("Corrupt string reference in model snapshot: " + snapshotPath, e);
+			}
+		}
+	}
+	
+	private static DeserializeDataFromFile rebuild(MappedByteBuffer buffer, String[] strings, int operatorCount, int customerCount,
+			int orderCount, long consumedOffset, long consumedLines) {
+		DeserializeDataFromFile data = new DeserializeDataFromFile();
+		int[][] operatorColumns = readColumns(buffer, 6, operatorCount);
+		for (int i = 0; i < operatorCount; i++) {
+			data.acceptRecord(new Operator(strings[operatorColumns[0][i]], strings[operatorColumns[1][i]],
+					strings[operatorColumns[2][i]], strings[operatorColumns[3][i]], operatorColumns[4][i], operatorColumns[5][i]));
+		}
+		int[][] customerColumns = readColumns(buffer, 8, customerCount);
+		for (int i = 0; i < customerCount; i++) {
+			String name = strings[customerColumns[0][i]];
+			String surname = strings[customerColumns[1][i]];
+			String address = strings[customerColumns[2][i]];
+			String phone = strings[customerColumns[3][i]];
+			if (customerColumns[6][i] == CORPORATE) {
+				data.acceptRecord(new CorporateCustomer(name, surname, address, phone, customerColumns[4][i], customerColumns[5][i], strings[customerColumns[7][i]]));
+			} else {
+				data.acceptRecord(new RetailCustomer(name, surname, address, phone, customerColumns[4][i], customerColumns[5][i]));
+			}
+		}
+		int[][] orderColumns = readColumns(buffer, 5, orderCount);
+		for (int i = 0; i < orderCount; i++) {
+			data.acceptRecord(new Order(strings[orderColumns[0][i]], orderColumns[1][i], orderColumns[2][i], orderColumns[3][i], orderColumns[4][i]));
+		}
+		data.setConsumedOffset(consumedOffset);
+		data.setConsumedLines(consumedLines);
+		data.finishLoading();
+		return data;
+	}
+	
+	private static int[][] readColumns(MappedByteBuffer buffer, int columnCount, int rows) {
+		int[][] columns = new int[columnCount][];
+		for (int c = 0; c < columnCount; c++) {
+			columns[c] = readColumn(buffer, rows);
+		}
+		return columns;
+	}
+	
+	private static int[] readColumn(MappedByteBuffer buffer, int rows) {
+		int[] column = new int[rows];
+		IntBuffer view = buffer.asIntBuffer();
+		view.get(column);
+		buffer.position(buffer.position() + rows * Integer.BYTES);
+		return column;
+	}
+}
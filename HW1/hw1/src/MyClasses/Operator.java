@@ -2,47 +2,75 @@ package MyClasses;
 
 public class Operator extends Person {
 	private final int wage;
-	private final Customer[] customers;
+	private final EntityStore<Customer> customers;
 	
 	public Operator(String name, String surname, String address, String phone, int ID, int wage) {
 		super(name, surname, address, phone, ID);
 		this.wage = wage;
-		this.customers = new Customer[100];
+		this.customers = new EntityStore<>();
+	}
+	
+	public int getWage() {
+		return wage;
+	}
+	
+	public int customerCount() {
+		return customers.size();
 	}
 	
 	public void print_operator() {
-		System.out.println("----------------------------");
-		System.out.println(this);
-		System.out.println("----------------------------");
-		print_customers();
+		ScreenWriter out = ScreenWriter.systemOut();
+		render_operator(out, 0, customers.size());
+		out.flush();
 	}
 	
 	public void print_customers() {
-		if (customers[0] == null) {
-			System.out.println("This operator doesn't have any customer.");
-			System.out.println("----------------------------");
+		ScreenWriter out = ScreenWriter.systemOut();
+		render_customers(out, 0, customers.size());
+		out.flush();
+	}
+	
+	// Renders the operator header followed by customers [from, to) with all of their orders.
+	public void render_operator(ScreenWriter out, int from, int to) {
+		out.line("----------------------------");
+		render(out);
+		out.newLine();
+		out.line("----------------------------");
+		render_customers(out, from, to);
+	}
+	
+	public void render_customers(ScreenWriter out, int from, int to) {
+		if (customers.isEmpty()) {
+			out.line("This operator doesn't have any customer.");
+			out.line("----------------------------");
 			return;
 		}
-		for (int i = 0; customers[i] != null; i++) {
-			System.out.print("Customer #" + (i + 1));
+		for (int i = from; i < Math.min(to, customers.size()); i++) {
+			Customer customer = customers.get(i);
+			out.append("Customer #").append(i + 1);
 			
-			if (customers[i] instanceof RetailCustomer) System.out.println(" (Retail Customer) :");
-			else if (customers[i] instanceof CorporateCustomer) System.out.println(" (Corporate Customer) :");
+			if (customer instanceof RetailCustomer) out.line(" (Retail Customer) :");
+			else if (customer instanceof CorporateCustomer) out.line(" (Corporate Customer) :");
 			
-			System.out.println(customers[i].toString());
-			customers[i].print_orders();
-			System.out.println("----------------------------");
+			customer.render(out);
+			out.newLine();
+			customer.render_orders(out, 0, customer.orderCount());
+			out.line("----------------------------");
 		}
 	}
 	
-	public void define_customers(Customer[] iCustomers) {
-		int index = 0;
-		for (int i = 0; iCustomers[i] != null; i++) {
-			var cus = iCustomers[i];
-			if (cus.getOperator_ID() == this.getID()) {
-				this.customers[index++] = cus; // Assign customers with matching operator ID to the operator
-			}
-		}
+	public void add_customer(Customer customer) {
+		customers.add(customer);
+	}
+	
+	public void compact() {
+		customers.compact();
+	}
+	
+	@Override
+	public void render(ScreenWriter out) {
+		super.render(out);
+		out.append("\nWage: ").append(wage);
 	}
 	
 	@Override
@@ -15,6 +15,22 @@ public class Order {
 		this.customer_ID = customer_ID;
 	}
 	
+	public String getProduct_name() {
+		return product_name;
+	}
+	
+	public int getCount() {
+		return count;
+	}
+	
+	public int getTotal_price() {
+		return total_price;
+	}
+	
+	public int getStatus() {
+		return status;
+	}
+	
 	public int getCustomer_ID() {
 		return customer_ID;
 	}
@@ -23,6 +39,23 @@ public class Order {
 		System.out.print(this);
 	}
 	
+	public void render(ScreenWriter out) {
+		out.append("Product Name: ").append(product_name)
+				.append(" - Count: ").append(count)
+				.append(" - Total Price: ").append(total_price)
+				.append(" - Status: ").append(statusText());
+	}
+	
+	private String statusText() {
+		return switch (status) {
+			case 0 -> "Initialized.";
+			case 1 -> "Processing.";
+			case 2 -> "Status: Completed.";
+			case 3 -> "Status: Cancelled.";
+			default -> "Status: Error.";
+		};
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder visual = new StringBuilder();
@@ -32,15 +65,8 @@ public class Order {
 				.append(count)
 				.append(" - Total Price: ")
 				.append(total_price)
-				.append(" - Status: ");
-		
-		switch (status) {
-			case 0 -> visual.append("Initialized.");
-			case 1 -> visual.append("Processing.");
-			case 2 -> visual.append("Status: Completed.");
-			case 3 -> visual.append("Status: Cancelled.");
-			default -> visual.append("Status: Error.");
-		}
+				.append(" - Status: ")
+				.append(statusText());
 		return visual.toString();
 	}
 }
@@ -0,0 +1,177 @@
+package MyClasses;
+
+import java.util.HashMap;
+
+// Column-per-field copy of the orders; the aggregates below only loop over these primitive arrays.
+public class OrderTable {
+	public static final int STATUS_COUNT = 4;
+	
+	private final int size;
+	private final int[] count;
+	private final int[] totalPrice;
+	private final int[] status;
+	private final int[] customerID;
+	private final int[] product;
+	private final int[] customerSlot; // position in customerIDs(), or -1 if the order's customer wasn't loaded
+	
+	private final String[] productNames;
+	private final int[] customerIDs;
+	private final int[] operatorOfCustomer; // position in operatorIDs(), or -1
+	private final int[] operatorIDs;
+	
+	OrderTable(EntityStore<Order> orders, EntityStore<Customer> customers, EntityStore<Operator> operators,
+			IntIndex customerIndex, IntIndex operatorIndex) {
+		size = orders.size();
+		count = new int[size];
+		totalPrice = new int[size];
+		status = new int[size];
+		customerID = new int[size];
+		product = new int[size];
+		customerSlot = new int[size];
+		
+		HashMap<String, Integer> dictionary = new HashMap<>();
+		EntityStore<String> names = new EntityStore<>();
+		for (int i = 0; i < size; i++) {
+			Order order = orders.get(i);
+			count[i] = order.getCount();
+			totalPrice[i] = order.getTotal_price();
+			status[i] = order.getStatus();
+			customerID[i] = order.getCustomer_ID();
+			customerSlot[i] = customerIndex.get(customerID[i]);
+			Integer id = dictionary.get(order.getProduct_name());
+			if (id == null) {
+				id = names.add(order.getProduct_name());
+				dictionary.put(order.getProduct_name(), id);
+			}
+			product[i] = id;
+		}
+		productNames = new String[names.size()];
+		for (int i = 0; i < productNames.length; i++) {
+			productNames[i] = names.get(i);
+		}
+		
+		customerIDs = new int[customers.size()];
+		operatorOfCustomer = new int[customers.size()];
+		for (int i = 0; i < customerIDs.length; i++) {
+			customerIDs[i] = customers.get(i).getID();
+			operatorOfCustomer[i] = operatorIndex.get(customers.get(i).getOperator_ID());
+		}
+		operatorIDs = new int[operators.size()];
+		for (int i = 0; i < operatorIDs.length; i++) {
+			operatorIDs[i] = operators.get(i).getID();
+		}
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public int[] customerIDs() {
+		return customerIDs.clone();
+	}
+	
+	public int[] operatorIDs() {
+		return operatorIDs.clone();
+	}
+	
+	public int productCount() {
+		return productNames.length;
+	}
+	
+	public String productName(int product) {
+		return productNames[product];
+	}
+	
+	public long totalRevenue() {
+		long sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += totalPrice[i];
+		}
+		return sum;
+	}
+	
+	// Indexed by status code (0 initialized, 1 processing, 2 completed, 3 cancelled).
+	public long[] revenuePerStatus() {
+		long[] revenue = new long[STATUS_COUNT];
+		for (int s = 0; s < STATUS_COUNT; s++) {
+			long sum = 0;
+			for (int i = 0; i < size; i++) {
+				sum += status[i] == s ? totalPrice[i] : 0;
+			}
+			revenue[s] = sum;
+		}
+		return revenue;
+	}
+	
+	// Aligned with customerIDs(); orders of customers that were never loaded are left out.
+	public long[] revenuePerCustomer() {
+		long[] revenue = new long[customerIDs.length];
+		for (int i = 0; i < size; i++) {
+			int slot = customerSlot[i];
+			if (slot >= 0) {
+				revenue[slot] += totalPrice[i];
+			}
+		}
+		return revenue;
+	}
+	
+	// Aligned with operatorIDs(); rolls the per-customer totals up through each customer's operator.
+	public long[] revenuePerOperator() {
+		long[] perCustomer = revenuePerCustomer();
+		long[] revenue = new long[operatorIDs.length];
+		for (int c = 0; c < perCustomer.length; c++) {
+			int slot = operatorOfCustomer[c];
+			if (slot >= 0) {
+				revenue[slot] += perCustomer[c];
+			}
+		}
+		return revenue;
+	}
+	
+	public long revenueOfCustomer(int id) {
+		long sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += customerID[i] == id ? totalPrice[i] : 0;
+		}
+		return sum;
+	}
+	
+	// Indexed by product id, see productName(int).
+	public long[] revenuePerProduct() {
+		long[] revenue = new long[productNames.length];
+		for (int i = 0; i < size; i++) {
+			revenue[product[i]] += totalPrice[i];
+		}
+		return revenue;
+	}
+	
+	public long[] unitsPerProduct() {
+		long[] units = new long[productNames.length];
+		for (int i = 0; i < size; i++) {
+			units[product[i]] += count[i];
+		}
+		return units;
+	}
+	
+	// At most n product ids ordered by revenue, highest first; ties keep the order products first appeared in.
+	public int[] topProducts(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Product count must be non-negative: " + n);
+		}
+		long[] revenue = revenuePerProduct();
+		int[] top = new int[Math.min(n, revenue.length)];
+		int filled = 0;
+		for (int p = 0; p < revenue.length; p++) {
+			if (filled == top.length && (filled == 0 || revenue[top[filled - 1]] >= revenue[p])) {
+				continue;
+			}
+			int i = filled < top.length ? filled++ : filled - 1;
+			while (i > 0 && revenue[top[i - 1]] < revenue[p]) {
+				top[i] = top[i - 1];
+				i--;
+			}
+			top[i] = p;
+		}
+		return top;
+	}
+}
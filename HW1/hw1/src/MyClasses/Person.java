@@ -19,6 +19,29 @@ public abstract class Person {
 		return ID;
 	}
 	
+	public String getName() {
+		return name;
+	}
+	
+	public String getSurname() {
+		return surname;
+	}
+	
+	public String getAddress() {
+		return address;
+	}
+	
+	public String getPhone() {
+		return phone;
+	}
+	
+	public void render(ScreenWriter out) {
+		out.append("Name & Surname: ").append(name).append(" ").append(surname)
+				.append("\nAddress: ").append(address)
+				.append("\nPhone: ").append(phone)
+				.append("\nID: ").append(ID);
+	}
+	
 	@Override
 	public String toString() {
 		return "Name & Surname: " + name + " " + surname
@@ -0,0 +1,200 @@
+package MyClasses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+// Secondary indexes over operators and customers: exact phone match, surname prefix and address words.
+// Every person gets a position in insertion order and the indexes store positions, so the posting lists are sorted int
+// arrays that multi-word address queries can intersect without building sets.
+public class PersonIndex {
+	private final EntityStore<Person> people = new EntityStore<>();
+	private final HashMap<String, Postings> byPhone = new HashMap<>();
+	private final HashMap<String, Postings> byAddressToken = new HashMap<>();
+	private final TrieNode surnames = new TrieNode();
+	
+	private static final class Postings {
+		int[] positions = new int[2];
+		int size = 0;
+		
+		void add(int position) {
+			// A person whose address repeats a word is posted once.
+			if (size > 0 && positions[size - 1] == position) {
+				return;
+			}
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, size << 1);
+			}
+			positions[size++] = position;
+		}
+	}
+	
+	// Children are kept sorted by character, so a prefix search lists surnames alphabetically.
+	private static final class TrieNode {
+		char[] keys = new char[0];
+		TrieNode[] children = new TrieNode[0];
+		Postings postings;
+		
+		TrieNode child(char c) {
+			int i = Arrays.binarySearch(keys, c);
+			return i >= 0 ? children[i] : null;
+		}
+		
+		TrieNode addChild(char c) {
+			int i = Arrays.binarySearch(keys, c);
+			if (i >= 0) {
+				return children[i];
+			}
+			i = -i - 1;
+			char[] newKeys = new char[keys.length + 1];
+			TrieNode[] newChildren = new TrieNode[keys.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, i);
+			System.arraycopy(children, 0, newChildren, 0, i);
+			newKeys[i] = c;
+			newChildren[i] = new TrieNode();
+			System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+			System.arraycopy(children, i, newChildren, i + 1, keys.length - i);
+			keys = newKeys;
+			children = newChildren;
+			return newChildren[i];
+		}
+	}
+	
+	public int size() {
+		return people.size();
+	}
+	
+	public void add(Person person) {
+		int position = people.add(person);
+		byPhone.computeIfAbsent(normalizePhone(person.getPhone()), key -> new Postings()).add(position);
+		
+		TrieNode node = surnames;
+		String surname = normalize(person.getSurname());
+		for (int i = 0; i < surname.length(); i++) {
+			node = node.addChild(surname.charAt(i));
+		}
+		if (node.postings == null) {
+			node.postings = new Postings();
+		}
+		node.postings.add(position);
+		
+		for (String token : tokenize(person.getAddress())) {
+			byAddressToken.computeIfAbsent(token, key -> new Postings()).add(position);
+		}
+	}
+	
+	// Punctuation and spaces in the phone number are ignored, so "0262 605 00 00" matches "02626050000".
+	public List<Person> findByPhone(String phone) {
+		return collect(byPhone.get(normalizePhone(phone)));
+	}
+	
+	// Case-insensitive; returns at most limit people, ordered by surname.
+	public List<Person> findBySurnamePrefix(String prefix, int limit) {
+		List<Person> result = new ArrayList<>();
+		TrieNode node = surnames;
+		String key = normalize(prefix);
+		for (int i = 0; i < key.length() && node != null; i++) {
+			node = node.child(key.charAt(i));
+		}
+		if (node != null) {
+			collectSubtree(node, result, limit);
+		}
+		return result;
+	}
+	
+	// People whose address contains every word of the query, case-insensitively, in load order.
+	public List<Person> findByAddress(String query) {
+		List<String> tokens = tokenize(query);
+		if (tokens.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Postings[] lists = new Postings[tokens.size()];
+		for (int i = 0; i < lists.length; i++) {
+			lists[i] = byAddressToken.get(tokens.get(i));
+			if (lists[i] == null) {
+				return new ArrayList<>();
+			}
+		}
+		// Intersect starting from the shortest list so the work is bounded by the rarest word.
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+		int[] matches = Arrays.copyOf(lists[0].positions, lists[0].size);
+		int matchCount = matches.length;
+		for (int l = 1; l < lists.length && matchCount > 0; l++) {
+			matchCount = intersect(matches, matchCount, lists[l]);
+		}
+		List<Person> result = new ArrayList<>(matchCount);
+		for (int i = 0; i < matchCount; i++) {
+			result.add(people.get(matches[i]));
+		}
+		return result;
+	}
+	
+	// Keeps the matches that also appear in the list, in place; returns how many are left.
+	private static int intersect(int[] matches, int matchCount, Postings list) {
+		int kept = 0;
+		int j = 0;
+		for (int i = 0; i < matchCount && j < list.size; i++) {
+			while (j < list.size && list.positions[j] < matches[i]) {
+				j++;
+			}
+			if (j < list.size && list.positions[j] == matches[i]) {
+				matches[kept++] = matches[i];
+			}
+		}
+		return kept;
+	}
+	
+	private void collectSubtree(TrieNode node, List<Person> result, int limit) {
+		if (node.postings != null) {
+			for (int i = 0; i < node.postings.size && result.size() < limit; i++) {
+				result.add(people.get(node.postings.positions[i]));
+			}
+		}
+		for (int c = 0; c < node.children.length && result.size() < limit; c++) {
+			collectSubtree(node.children[c], result, limit);
+		}
+	}
+	
+	private List<Person> collect(Postings postings) {
+		List<Person> result = new ArrayList<>();
+		if (postings != null) {
+			for (int i = 0; i < postings.size; i++) {
+				result.add(people.get(postings.positions[i]));
+			}
+		}
+		return result;
+	}
+	
+	private static String normalize(String text) {
+		return text.trim().toLowerCase(Locale.ROOT);
+	}
+	
+	private static String normalizePhone(String phone) {
+		StringBuilder digits = new StringBuilder(phone.length());
+		for (int i = 0; i < phone.length(); i++) {
+			char c = phone.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				digits.append(c);
+			}
+		}
+		return digits.toString();
+	}
+	
+	private static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		String lower = text.toLowerCase(Locale.ROOT);
+		int start = -1;
+		for (int i = 0; i <= lower.length(); i++) {
+			boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				tokens.add(lower.substring(start, i));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+}
@@ -0,0 +1,283 @@
+package MyClasses;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+// Streams ';'-delimited lines out of a memory-mapped file region, tokenizing them in place without creating Strings.
+public class RecordParser {
+	public static final long INVALID_INT = Long.MIN_VALUE;
+	
+	private static final int WINDOW_SIZE = 1 << 26;
+	private static final int MAX_FIELDS = 16;
+	
+	private final FileChannel channel;
+	private final long end;
+	private final boolean endsWithRecord;
+	
+	private MappedByteBuffer window;
+	private long windowOffset;
+	private int windowPosition = 0;
+	private int windowSize = WINDOW_SIZE;
+	
+	private final int[] fieldStart = new int[MAX_FIELDS];
+	private final int[] fieldEnd = new int[MAX_FIELDS];
+	private int fieldCount = 0;
+	private int lineEnd = 0;
+	private long lineNumber = 0;
+	private byte[] scratch = new byte[64];
+	
+	// Reads the records in [start, end); a trailing line without a terminator counts only if endsWithRecord is set.
+	public RecordParser(FileChannel channel, long start, long end, boolean endsWithRecord) {
+		this.channel = channel;
+		this.end = end;
+		this.endsWithRecord = endsWithRecord;
+		this.windowOffset = start;
+	}
+	
+	public RecordParser(FileChannel channel) throws IOException {
+		this(channel, 0, channel.size(), true);
+	}
+	
+	// Offset of the first line that starts after position, or the channel size if there is none.
+	public static long nextLineStart(FileChannel channel, long position) throws IOException {
+		long size = channel.size();
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			for (int i = 0; i < read; i++) {
+				byte b = buffer.get(i);
+				if (b == '\n') {
+					return position + i + 1;
+				}
+				if (b == '\r') {
+					long next = position + i + 1;
+					if (next < size && (i + 1 < read ? buffer.get(i + 1) : readByte(channel, next)) == '\n') {
+						next++;
+					}
+					return next;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+	
+	// Offset just past the last line terminator, or 0 if the file has none; where a load that leaves an unterminated last
+	// line for later stops.
+	public static long lastLineEnd(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		long position = channel.size();
+		while (position > 0) {
+			long from = Math.max(0, position - buffer.capacity());
+			buffer.clear().limit((int) (position - from));
+			int read = 0;
+			while (buffer.hasRemaining() && read >= 0) {
+				read = channel.read(buffer, from + buffer.position());
+			}
+			for (int i = buffer.position() - 1; i >= 0; i--) {
+				byte b = buffer.get(i);
+				if (b == '\n' || b == '\r') {
+					return from + i + 1;
+				}
+			}
+			position = from;
+		}
+		return 0;
+	}
+	
+	// Offset of the first byte of the line after a record that ended just before position. A record that ended on a '\r'
+	// at the end of the file may have been written as "\r\n" in two steps; the '\n' then belongs to that record.
+	public static long continueAfter(FileChannel channel, long position) throws IOException {
+		if (position > 0 && position < channel.size() && readByte(channel, position - 1) == '\r' && readByte(channel, position) == '\n') {
+			return position + 1;
+		}
+		return position;
+	}
+	
+	private static byte readByte(FileChannel channel, long position) throws IOException {
+		ByteBuffer one = ByteBuffer.allocate(1);
+		channel.read(one, position);
+		return one.get(0);
+	}
+	
+	// File offset just past the last record returned by nextRecord.
+	public long position() {
+		return windowOffset + windowPosition;
+	}
+	
+	public boolean nextRecord() throws IOException {
+		while (true) {
+			if (window == null || windowPosition == window.limit()) {
+				if (!remap(windowSize)) {
+					return false;
+				}
+			}
+			if (tokenizeLine()) {
+				return true;
+			}
+			// The line runs past the mapped window: remap from its start, growing the window if one line fills it.
+			if (windowPosition == 0) {
+				if (windowOffset + window.limit() >= end) {
+					return false;
+				}
+				windowSize <<= 1;
+			}
+			if (!remap(windowSize)) {
+				return false;
+			}
+		}
+	}
+	
+	private boolean remap(int size) throws IOException {
+		windowOffset += windowPosition;
+		windowPosition = 0;
+		long length = Math.min(size, end - windowOffset);
+		if (length <= 0) {
+			window = null;
+			return false;
+		}
+		window = channel.map(FileChannel.MapMode.READ_ONLY, windowOffset, length);
+		return true;
+	}
+	
+	private boolean tokenizeLine() {
+		MappedByteBuffer buffer = window;
+		int limit = buffer.limit();
+		boolean lastWindow = windowOffset + limit >= end;
+		int i = windowPosition;
+		int count = 0;
+		fieldStart[0] = i;
+		while (i < limit) {
+			byte b = buffer.get(i);
+			if (b == ';') {
+				if (count + 1 < MAX_FIELDS) {
+					fieldEnd[count] = i;
+					fieldStart[count + 1] = i + 1;
+				}
+				count++;
+			} else if (b == '\n' || b == '\r') {
+				int next = i + 1;
+				if (b == '\r') {
+					if (next == limit && !lastWindow) {
+						return false;
+					}
+					if (next < limit && buffer.get(next) == '\n') {
+						next++;
+					}
+				}
+				finishLine(count, i);
+				windowPosition = next;
+				return true;
+			}
+			i++;
+		}
+		if (!lastWindow || !endsWithRecord || i == windowPosition) {
+			return false;
+		}
+		finishLine(count, i);
+		windowPosition = i;
+		return true;
+	}
+	
+	private void finishLine(int count, int lineEnd) {
+		if (count < MAX_FIELDS) {
+			fieldEnd[count] = lineEnd;
+		}
+		fieldCount = count + 1;
+		this.lineEnd = lineEnd;
+		lineNumber++;
+	}
+	
+	// 1-based number of the current record within this parser's region.
+	public long lineNumber() {
+		return lineNumber;
+	}
+	
+	public int fieldCount() {
+		return fieldCount;
+	}
+	
+	// Mirrors String.trim().isEmpty() on every field of the record.
+	public boolean hasBlankField() {
+		for (int f = 0; f < Math.min(fieldCount, MAX_FIELDS); f++) {
+			if (isBlank(f)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	public boolean isBlank(int field) {
+		for (int i = fieldStart[field]; i < fieldEnd[field]; i++) {
+			if ((window.get(i) & 0xFF) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	public boolean fieldEquals(int field, byte[] literal) {
+		int start = fieldStart[field];
+		if (fieldEnd[field] - start != literal.length) {
+			return false;
+		}
+		for (int i = 0; i < literal.length; i++) {
+			if (window.get(start + i) != literal[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	public String string(int field) {
+		return decode(fieldStart[field], fieldEnd[field]);
+	}
+	
+	// The whole current line without its terminator; only meant for diagnostics.
+	public String line() {
+		return decode(fieldStart[0], lineEnd);
+	}
+	
+	private String decode(int start, int end) {
+		int length = end - start;
+		if (scratch.length < length) {
+			scratch = new byte[Math.max(length, scratch.length << 1)];
+		}
+		window.get(start, scratch, 0, length);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+	
+	// Parses the field with Integer.parseInt rules, returning INVALID_INT instead of throwing.
+	public long intField(int field) {
+		int i = fieldStart[field];
+		int limit = fieldEnd[field];
+		if (i == limit) {
+			return INVALID_INT;
+		}
+		boolean negative = false;
+		byte first = window.get(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			if (++i == limit) {
+				return INVALID_INT;
+			}
+		}
+		long bound = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+		long value = 0;
+		for (; i < limit; i++) {
+			int digit = window.get(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return INVALID_INT;
+			}
+			value = value * 10 + digit;
+			if (value > bound) {
+				return INVALID_INT;
+			}
+		}
+		return negative ? -value : value;
+	}
+}
@@ -0,0 +1,90 @@
+package MyClasses;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+// Collects a whole screen in memory and writes it to the stream in one go; the buffers are reused between screens.
+public class ScreenWriter {
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final ThreadLocal<ScreenWriter> SYSTEM_OUT = new ThreadLocal<>();
+	
+	private final OutputStream out;
+	private final CharsetEncoder encoder;
+	private final StringBuilder screen = new StringBuilder(1 << 12);
+	private final ByteBuffer bytes = ByteBuffer.allocate(1 << 14);
+	
+	public ScreenWriter(PrintStream out) {
+		this(out, out.charset());
+	}
+	
+	public ScreenWriter(OutputStream out, Charset charset) {
+		this.out = out;
+		this.encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+	
+	// A writer on System.out for the calling thread, reused between screens and recreated only if System.out has been
+	// replaced since the last one.
+	public static ScreenWriter systemOut() {
+		ScreenWriter writer = SYSTEM_OUT.get();
+		if (writer == null || writer.out != System.out) {
+			writer = new ScreenWriter(System.out);
+			SYSTEM_OUT.set(writer);
+		}
+		return writer;
+	}
+	
+	public ScreenWriter append(String text) {
+		screen.append(text);
+		return this;
+	}
+	
+	public ScreenWriter append(int value) {
+		screen.append(value);
+		return this;
+	}
+	
+	public ScreenWriter newLine() {
+		screen.append(LINE_SEPARATOR);
+		return this;
+	}
+	
+	public ScreenWriter line(String text) {
+		return append(text).newLine();
+	}
+	
+	public void flush() {
+		try {
+			CharBuffer chars = CharBuffer.wrap(screen);
+			encoder.reset();
+			CoderResult result;
+			do {
+				result = encoder.encode(chars, bytes, true);
+				drain();
+			} while (result.isOverflow());
+			while (encoder.flush(bytes).isOverflow()) {
+				drain();
+			}
+			drain();
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			screen.setLength(0);
+		}
+	}
+	
+	private void drain() throws IOException {
+		out.write(bytes.array(), 0, bytes.position());
+		bytes.clear();
+	}
+}
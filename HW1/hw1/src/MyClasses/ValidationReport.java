@@ -0,0 +1,152 @@
+package MyClasses;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Counts accepted and rejected lines per record type and keeps the first few rejected lines of every reason, so a
+// load with millions of bad rows costs a counter increment per row instead of an exception or a stored String.
+public class ValidationReport {
+	public enum RecordType { OPERATOR, RETAIL_CUSTOMER, CORPORATE_CUSTOMER, ORDER, UNKNOWN }
+	
+	public enum Reason { UNKNOWN_TYPE, FIELD_COUNT, BLANK_FIELD, NOT_A_NUMBER, OUT_OF_RANGE, DUPLICATE_ID }
+	
+	public static final int DEFAULT_SAMPLES_PER_REASON = 20;
+	
+	private static final RecordType[] TYPES = RecordType.values();
+	private static final Reason[] REASONS = Reason.values();
+	
+	// A rejected line as decoded; text is only filled in while the sample for its reason still has room.
+	static final class Rejection {
+		final RecordType type;
+		final Reason reason;
+		final long line;
+		final String text;
+		
+		Rejection(RecordType type, Reason reason, long line, String text) {
+			this.type = type;
+			this.reason = reason;
+			this.line = line;
+			this.text = text;
+		}
+	}
+	
+	private final int samplesPerReason;
+	private final long[] accepted = new long[TYPES.length];
+	private final long[][] rejected = new long[TYPES.length][REASONS.length];
+	private final EntityStore<Rejection> samples = new EntityStore<>();
+	private final int[] sampled = new int[REASONS.length];
+	
+	public ValidationReport() {
+		this(DEFAULT_SAMPLES_PER_REASON);
+	}
+	
+	public ValidationReport(int samplesPerReason) {
+		this.samplesPerReason = samplesPerReason;
+	}
+	
+	void accept(RecordType type) {
+		accepted[type.ordinal()]++;
+	}
+	
+	boolean wantsSample(Reason reason) {
+		return sampled[reason.ordinal()] < samplesPerReason;
+	}
+	
+	void reject(RecordType type, Reason reason, long line, String text) {
+		rejected[type.ordinal()][reason.ordinal()]++;
+		if (wantsSample(reason)) {
+			sampled[reason.ordinal()]++;
+			samples.add(new Rejection(type, reason, line, text));
+		}
+	}
+	
+	// Adds the counts and samples of a report built over a chunk whose first line is firstLine + 1 of the file.
+	void merge(ValidationReport chunk, long firstLine) {
+		for (int t = 0; t < TYPES.length; t++) {
+			accepted[t] += chunk.accepted[t];
+			for (int r = 0; r < REASONS.length; r++) {
+				rejected[t][r] += chunk.rejected[t][r];
+			}
+		}
+		for (int i = 0; i < chunk.samples.size(); i++) {
+			Rejection sample = chunk.samples.get(i);
+			if (wantsSample(sample.reason)) {
+				sampled[sample.reason.ordinal()]++;
+				samples.add(new Rejection(sample.type, sample.reason, firstLine + sample.line, sample.text));
+			}
+		}
+	}
+	
+	public long acceptedCount(RecordType type) {
+		return accepted[type.ordinal()];
+	}
+	
+	public long rejectedCount(RecordType type, Reason reason) {
+		return rejected[type.ordinal()][reason.ordinal()];
+	}
+	
+	public long totalRejected() {
+		long total = 0;
+		for (long[] perType : rejected) {
+			for (long count : perType) {
+				total += count;
+			}
+		}
+		return total;
+	}
+	
+	public boolean hasRejects() {
+		return totalRejected() > 0;
+	}
+	
+	// One row per record type with its accepted count and a column per reject reason.
+	public String summary() {
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("%-20s %10s", "type", "accepted"));
+		for (Reason reason : REASONS) {
+			text.append(String.format(" %13s", reason.name().toLowerCase()));
+		}
+		text.append(System.lineSeparator());
+		for (RecordType type : TYPES) {
+			text.append(String.format("%-20s %10d", type.name().toLowerCase(), accepted[type.ordinal()]));
+			for (Reason reason : REASONS) {
+				text.append(String.format(" %13d", rejected[type.ordinal()][reason.ordinal()]));
+			}
+			text.append(System.lineSeparator());
+		}
+		return text.toString();
+	}
+	
+	// Writes the summary followed by the sampled lines in file order; a parallel load adds duplicate-ID samples only after
+	// the chunk's syntax rejects, so they are sorted here rather than kept sorted.
+	public void writeTo(String reportPath) {
+		try (BufferedWriter out = Files.newBufferedWriter(Path.of(reportPath), StandardCharsets.UTF_8)) {
+			out.write(summary());
+			out.newLine();
+			out.write("First " + samplesPerReason + " rejected lines per reason:");
+			out.newLine();
+			Rejection[] sorted = new Rejection[samples.size()];
+			for (int i = 0; i < sorted.length; i++) {
+				sorted[i] = samples.get(i);
+			}
+			Arrays.sort(sorted, Comparator.comparingLong(sample -> sample.line));
+			for (Rejection sample : sorted) {
+				out.write("line " + sample.line + ": " + sample.reason.name().toLowerCase() + ": " + sample.text);
+				out.newLine();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write validation report to " + reportPath, e);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return summary();
+	}
+}
@@ -0,0 +1,137 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares applying a generated command file with {@link BatchProcessor} against applying the same commands one at a
+ * time, as {@link Menu} does, with every message flushed as it is printed. Checks that both inventories end up with the
+ * same devices, price order and total value.
+ * <p>
+ * Usage: {@code java mypackage.BatchBenchmark [commandCount]}
+ */
+public class BatchBenchmark {
+    private static final String[] CATEGORIES = {"TV", "Headphones", "Smart Phone", "Smart Watch", "Laptop"};
+    private static final int ROUNDS = 3;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of commands (default 300,000).
+     * @throws IOException if a temporary file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        Path commands = Files.createTempFile("inventory-commands", ".csv");
+        Path log = Files.createTempFile("inventory-batch", ".log");
+        List<String[]> generated = generate(count, new Random(42));
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(commands))) {
+            for (String[] command : generated) {
+                writer.println(String.join(",", command));
+            }
+        }
+
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                PrintStream stdout = System.out;
+                Inventory single = new Inventory();
+                long start = System.nanoTime();
+                try (PrintStream console = new PrintStream(new FileOutputStream(log.toFile()), true)) {
+                    System.setOut(console);
+                    for (String[] command : generated) {
+                        applyOne(single, command);
+                    }
+                } finally {
+                    System.setOut(stdout);
+                }
+                double singleMillis = (System.nanoTime() - start) / 1e6;
+
+                Inventory batched = new Inventory();
+                start = System.nanoTime();
+                try (OutputStream output = new FileOutputStream(log.toFile())) {
+                    new BatchProcessor(batched).run(commands.toString(), output);
+                }
+                double batchMillis = (System.nanoTime() - start) / 1e6;
+
+                check(single, batched);
+                System.out.printf("Round %d: one by one %.0f ms, batch %.0f ms (x%.1f)%n",
+                    round, singleMillis, batchMillis, singleMillis / batchMillis);
+            }
+        } finally {
+            Files.delete(commands);
+            Files.delete(log);
+        }
+    }
+
+    /**
+     * Generates a mix of commands over a catalog that grows to about a third of the command count.
+     *
+     * @param count  The number of commands.
+     * @param random The random source.
+     * @return The commands as fields.
+     */
+    private static List<String[]> generate(int count, Random random) {
+        List<String[]> commands = new ArrayList<>(count);
+        int devices = 0;
+        for (int i = 0; i < count; i++) {
+            int kind = devices == 0 ? 0 : random.nextInt(10);
+            String name = "device-" + (devices == 0 ? 0 : random.nextInt(devices));
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            if (kind < 4) {
+                commands.add(new String[]{"add", category, "device-" + devices++, Double.toString(1 + random.nextInt(500000) / 100.0),
+                    Integer.toString(random.nextInt(1000))});
+            } else if (kind < 5) {
+                commands.add(new String[]{"remove", category, name});
+            } else if (kind < 7) {
+                commands.add(new String[]{"update", name, Double.toString(1 + random.nextInt(500000) / 100.0), ""});
+            } else {
+                commands.add(new String[]{"restock", name, random.nextBoolean() ? "Add" : "Remove", Integer.toString(random.nextInt(50))});
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Applies one command directly to the inventory.
+     *
+     * @param inventory The inventory.
+     * @param command   The command fields.
+     */
+    private static void applyOne(Inventory inventory, String[] command) {
+        switch (command[0]) {
+            case "add" -> inventory.addDevice(command[1], command[2], Double.parseDouble(command[3]), Integer.parseInt(command[4]));
+            case "remove" -> inventory.removeDevice(command[2], command[1]);
+            case "update" -> inventory.updateDeviceDetails(command[1], command[2], command[3]);
+            default -> inventory.restockDevice(command[1], Integer.parseInt(command[3]), command[2]);
+        }
+    }
+
+    /**
+     * Checks that two inventories list the same devices in the same order, by listing and by price, with the same total.
+     *
+     * @param expected The inventory built one command at a time.
+     * @param actual   The inventory built in a batch.
+     */
+    private static void check(Inventory expected, Inventory actual) {
+        if (!describe(expected.devicesByPrice.values()).equals(describe(actual.devicesByPrice.values()))
+            || !describe(expected.categories.values().stream().flatMap(category -> category.devices.stream()).toList())
+                .equals(describe(actual.categories.values().stream().flatMap(category -> category.devices.stream()).toList()))
+            || expected.totalValue().compareTo(actual.totalValue()) != 0) {
+            throw new IllegalStateException("Batch result differs from applying the commands one by one");
+        }
+    }
+
+    private static List<String> describe(Iterable<Device> devices) {
+        List<String> lines = new ArrayList<>();
+        for (Device device : devices) {
+            lines.add(device.toString());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,164 @@
+package mypackage;
+
+import mypackage.util.CategoryRegistry;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The BatchProcessor class applies a file of inventory commands in one batch, instead of entering them one at a time
+ * through {@link Menu}.
+ * <p>
+ * The command file is CSV, one command per line, with the same quoting as {@link InventoryStorage#exportCsv}:
+ * <pre>
+ * add,&lt;category&gt;,&lt;name&gt;,&lt;price&gt;,&lt;quantity&gt;
+ * remove,&lt;category&gt;,&lt;name&gt;
+ * update,&lt;name&gt;,&lt;price or blank&gt;,&lt;quantity or blank&gt;
+ * restock,&lt;name&gt;,&lt;Add or Remove&gt;,&lt;quantity&gt;
+ * </pre>
+ * Blank lines and lines starting with {@code #} are skipped. A command that cannot be applied is reported with its
+ * line number and the batch goes on.
+ * <p>
+ * The whole file runs inside {@link Inventory#beginBatch()} and {@link Inventory#endBatch()}, so the price index and
+ * the value totals are rebuilt once rather than after every command, and the messages of the commands are collected in
+ * a buffer instead of being flushed line by line.
+ */
+public class BatchProcessor {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The inventory the commands are applied to.
+     */
+    private final Inventory inventory;
+
+    /**
+     * Constructs a batch processor for an inventory.
+     *
+     * @param inventory The inventory the commands are applied to.
+     */
+    BatchProcessor(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    /**
+     * Applies every command of a file to the inventory.
+     * <p>
+     * Time Complexity: O(k + n log n), where k is the number of commands and n the number of devices after the batch.
+     *
+     * @param filename The command file.
+     * @param output   Where the messages of the commands and the summary are written.
+     * @return The number of commands applied.
+     * @throws IOException if the command file cannot be read.
+     */
+    int run(String filename, OutputStream output) throws IOException {
+        PrintStream buffered = new PrintStream(new BufferedOutputStream(output, BUFFER_SIZE), false);
+        int applied = 0;
+        int rejected = 0;
+        try (Reader reader = new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8)) {
+            inventory.setMessages(buffered);
+            inventory.beginBatch();
+            try {
+                InventoryStorage.CsvReader csv = new InventoryStorage.CsvReader(reader);
+                String[] fields = new String[5];
+                int fieldCount;
+                while ((fieldCount = csv.readRow(fields)) >= 0) {
+                    if ((fieldCount == 1 && fields[0].isBlank()) || fields[0].startsWith("#")) {
+                        continue;
+                    }
+                    String error = apply(fields, fieldCount);
+                    if (error == null) {
+                        applied++;
+                    } else {
+                        rejected++;
+                        buffered.println("Line " + csv.lineNumber + ": " + error);
+                    }
+                }
+            } finally {
+                inventory.endBatch();
+                inventory.setMessages(null);
+                buffered.println("Batch finished: " + applied + " commands applied, " + rejected + " rejected.");
+                buffered.flush();
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Applies one command.
+     * <p>
+     * Time Complexity: O(1) on average.
+     *
+     * @param fields     The fields of the command line.
+     * @param fieldCount The number of fields.
+     * @return null if the command was applied, otherwise why it was rejected.
+     */
+    private String apply(String[] fields, int fieldCount) {
+        String command = fields[0].trim();
+        try {
+            switch (command) {
+                case "add":
+                    if (fieldCount != 5) {
+                        return "add expects category, name, price and quantity";
+                    }
+                    inventory.addDevice(fields[1], fields[2], Double.parseDouble(fields[3].trim()), Integer.parseInt(fields[4].trim()));
+                    return null;
+                case "remove":
+                    if (fieldCount != 3) {
+                        return "remove expects category and name";
+                    }
+                    inventory.removeDevice(fields[2], fields[1]);
+                    return null;
+                case "update":
+                    if (fieldCount != 4) {
+                        return "update expects name, price and quantity";
+                    }
+                    inventory.updateDeviceDetails(fields[1], fields[2].trim(), fields[3].trim());
+                    return null;
+                case "restock":
+                    if (fieldCount != 4) {
+                        return "restock expects name, Add or Remove, and quantity";
+                    }
+                    inventory.restockDevice(fields[1], Integer.parseInt(fields[3].trim()), fields[2].trim());
+                    return null;
+                default:
+                    return "unknown command " + command;
+            }
+        } catch (NumberFormatException e) {
+            return "invalid number in " + command + " command";
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Applies a command file to the inventory {@link Menu} keeps, for unattended runs such as nightly catalog syncs. The
+     * inventory is recovered from Menu's checkpoint and journal, and the result is checkpointed once after the batch,
+     * so an interrupted run leaves the saved inventory unchanged. Menu should not be running at the same time. Device
+     * categories listed in "src/categories.txt", if present, are registered first.
+     * <p>
+     * Usage: {@code java mypackage.BatchProcessor <commandFile>}
+     *
+     * @param args The command file.
+     * @throws IOException if a file cannot be read or written.
+     * @see InventoryJournal#recover()
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java mypackage.BatchProcessor <commandFile>");
+            return;
+        }
+        if (Files.exists(Path.of("src/categories.txt"))) {
+            CategoryRegistry.load("src/categories.txt");
+        }
+        try (InventoryJournal journal = new InventoryJournal("src/inventory.journal", "src/inventory.checkpoint")) {
+            Inventory inventory = journal.recover();
+            // The whole batch is checkpointed at once by reset() instead of being journaled command by command.
+            inventory.setJournal(null);
+            new BatchProcessor(inventory).run(args[0], new FileOutputStream(FileDescriptor.out));
+            journal.reset(inventory);
+        }
+        System.out.println("Inventory saved successfully to src/inventory.checkpoint");
+    }
+}
@@ -0,0 +1,382 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The ColumnarInventory class is a read-only, analysis-only snapshot of an {@link Inventory} that keeps every category as
+ * parallel primitive arrays (price in cents, quantity and a dictionary-encoded name) instead of one object per device.
+ * <p>
+ * Whole-inventory scans such as the total value or the cheapest device become loops over a few long and int arrays,
+ * which the JIT can unroll and vectorize. Devices are exposed through lightweight {@link Device} views over a row.
+ * Categories and rows are kept in insertion order, as {@link Inventory} lists them.
+ * <p>
+ * A snapshot is built with {@link #copyOf(Inventory)} and is not kept in sync with the inventory: later changes need a
+ * new copy. It has no add, remove, update or restock operations and is not used by {@link Menu}; the inventory remains
+ * the only store the application changes.
+ */
+class ColumnarInventory {
+    /**
+     * Initial row capacity of a new category.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The columns of one category. Rows {@code 0..size-1} are in use.
+     */
+    static final class Columns {
+        /**
+         * The category name.
+         */
+        final String name;
+
+        /**
+         * The category ID in the {@link CategoryRegistry}.
+         */
+        final int categoryId;
+
+        /**
+         * The class-style name shown by {@link Device#toString()}, e.g. "SmartPhone" for "Smart Phone".
+         */
+        final String displayName;
+
+        /**
+         * Price of each row in cents.
+         */
+        long[] priceCents = new long[INITIAL_CAPACITY];
+
+        /**
+         * Quantity of each row.
+         */
+        int[] quantity = new int[INITIAL_CAPACITY];
+
+        /**
+         * Dictionary ID of each row's name.
+         */
+        int[] nameId = new int[INITIAL_CAPACITY];
+
+        /**
+         * Number of rows in use.
+         */
+        int size = 0;
+
+        Columns(int categoryId) {
+            this.name = CategoryRegistry.nameOf(categoryId);
+            this.categoryId = categoryId;
+            this.displayName = name.replace(" ", "");
+        }
+
+        /**
+         * Returns the first row holding the given name ID, or -1.
+         * <p>
+         * Time Complexity: O(n), where n is the number of rows of the category.
+         *
+         * @param id The name ID.
+         * @return The row, or -1 if no row has that name.
+         */
+        int rowOf(int id) {
+            int[] ids = nameId;
+            for (int row = 0; row < size; row++) {
+                if (ids[row] == id) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The categories in creation order.
+     */
+    private final ArrayList<Columns> categories = new ArrayList<>();
+
+    /**
+     * The distinct device names; a name's ID is its index.
+     */
+    private final ArrayList<String> names = new ArrayList<>();
+
+    /**
+     * The ID of every name in {@link #names}.
+     */
+    private final HashMap<String, Integer> nameIds = new HashMap<>();
+
+    /**
+     * A read-only view of one row. {@link #forEachDevice(Consumer)} moves a single view from row to row, so a scan does
+     * not create an object per device.
+     */
+    final class DeviceView implements Device {
+        private Columns columns;
+        private int row;
+
+        DeviceView(Columns columns, int row) {
+            moveTo(columns, row);
+        }
+
+        /**
+         * Points the view at another row.
+         *
+         * @param columns The columns of the row's category.
+         * @param row     The row.
+         */
+        void moveTo(Columns columns, int row) {
+            this.columns = columns;
+            this.row = row;
+        }
+
+        @Override
+        public String getCategory() {
+            return columns.name;
+        }
+
+        @Override
+        public int getCategoryId() {
+            return columns.categoryId;
+        }
+
+        @Override
+        public String getName() {
+            return names.get(columns.nameId[row]);
+        }
+
+        @Override
+        public void setName(String newName) {
+            throw readOnly();
+        }
+
+        @Override
+        public double getPrice() {
+            return Money.toDollars(columns.priceCents[row]);
+        }
+
+        @Override
+        public void setPrice(double newPrice) {
+            throw readOnly();
+        }
+
+        @Override
+        public long getPriceCents() {
+            return columns.priceCents[row];
+        }
+
+        @Override
+        public void setPriceCents(long newPriceCents) {
+            throw readOnly();
+        }
+
+        @Override
+        public int getQuantity() {
+            return columns.quantity[row];
+        }
+
+        @Override
+        public void setQuantity(int newQuantity) {
+            throw readOnly();
+        }
+
+        /**
+         * Returns the error of every setter.
+         *
+         * @return The exception to throw.
+         */
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("ColumnarInventory is a read-only snapshot");
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(64);
+            text.append("Category: ").append(columns.displayName).append(", ")
+                .append("Name: ").append(getName()).append(", ")
+                .append("Price: ");
+            Money.appendTo(text, columns.priceCents[row]);
+            return text.append(", ").append("Quantity: ").append(columns.quantity[row]).toString();
+        }
+    }
+
+    /**
+     * Appends a row to a category, creating the category if needed.
+     * <p>
+     * Time Complexity: O(1) amortized, plus O(c) to find the category among the c categories.
+     *
+     * @param categoryId The category ID of the device.
+     * @param deviceName The name of the device.
+     * @param priceCents The price of the device in cents.
+     * @param quantity   The quantity of the device.
+     */
+    private void addRow(int categoryId, String deviceName, long priceCents, int quantity) {
+        Columns columns = columns(categoryId);
+        if (columns == null) {
+            columns = new Columns(categoryId);
+            categories.add(columns);
+        }
+        if (columns.size == columns.priceCents.length) {
+            int capacity = columns.size << 1;
+            columns.priceCents = Arrays.copyOf(columns.priceCents, capacity);
+            columns.quantity = Arrays.copyOf(columns.quantity, capacity);
+            columns.nameId = Arrays.copyOf(columns.nameId, capacity);
+        }
+        int row = columns.size++;
+        columns.priceCents[row] = priceCents;
+        columns.quantity[row] = quantity;
+        columns.nameId[row] = internName(deviceName);
+    }
+
+    /**
+     * Returns a view of the first device with the given name, in listing order.
+     * <p>
+     * Time Complexity: O(n), a scan of the name ID columns.
+     *
+     * @param deviceName The name of the device.
+     * @return A view of the device, or null if no device has that name.
+     */
+    Device findDevice(String deviceName) {
+        Integer id = nameIds.get(deviceName);
+        if (id == null) {
+            return null;
+        }
+        for (Columns columns : categories) {
+            int row = columns.rowOf(id);
+            if (row >= 0) {
+                return new DeviceView(columns, row);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of devices in the inventory.
+     * <p>
+     * Time Complexity: O(c), where c is the number of categories.
+     *
+     * @return The number of devices.
+     */
+    int size() {
+        int size = 0;
+        for (Columns columns : categories) {
+            size += columns.size;
+        }
+        return size;
+    }
+
+    /**
+     * Passes every device to an action in listing order. The action always receives the same view, moved to the next
+     * row before each call, so it must not keep the view after it returns.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @param action The action to run for each device.
+     */
+    void forEachDevice(Consumer<Device> action) {
+        DeviceView view = new DeviceView(null, 0);
+        for (Columns columns : categories) {
+            for (int row = 0; row < columns.size; row++) {
+                view.moveTo(columns, row);
+                action.accept(view);
+            }
+        }
+    }
+
+    /**
+     * Returns the total value of the inventory in cents, as one multiply-add loop per category.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @return The sum of price times quantity over all devices, in cents.
+     */
+    long totalValueCents() {
+        long total = 0;
+        for (Columns columns : categories) {
+            long[] prices = columns.priceCents;
+            int[] quantities = columns.quantity;
+            for (int row = 0; row < columns.size; row++) {
+                total += prices[row] * quantities[row];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the cheapest device; among devices with the lowest price, the one listed first.
+     * <p>
+     * Time Complexity: O(n), one minimum loop over the price column of each category.
+     *
+     * @return A view of the cheapest device, or null if the inventory is empty.
+     */
+    Device cheapestDevice() {
+        Columns cheapestColumns = null;
+        int cheapestRow = -1;
+        long cheapestPrice = Long.MAX_VALUE;
+        for (Columns columns : categories) {
+            long[] prices = columns.priceCents;
+            int row = -1;
+            long min = cheapestPrice;
+            for (int i = 0; i < columns.size; i++) {
+                if (prices[i] < min) {
+                    min = prices[i];
+                    row = i;
+                }
+            }
+            if (row >= 0) {
+                cheapestColumns = columns;
+                cheapestRow = row;
+                cheapestPrice = min;
+            }
+        }
+        return cheapestColumns == null ? null : new DeviceView(cheapestColumns, cheapestRow);
+    }
+
+    /**
+     * Copies every device of an inventory into a new columnar store, keeping the listing order.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @param inventory The inventory to copy.
+     * @return The columnar copy.
+     */
+    static ColumnarInventory copyOf(Inventory inventory) {
+        ColumnarInventory copy = new ColumnarInventory();
+        for (Inventory.Category category : inventory.categories.values()) {
+            for (Device device : category.devices) {
+                copy.addRow(category.id, device.getName(), device.getPriceCents(), device.getQuantity());
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the columns of a category.
+     * <p>
+     * Time Complexity: O(c), where c is the number of categories.
+     *
+     * @param categoryId The category ID.
+     * @return The columns, or null if the category has no devices.
+     */
+    private Columns columns(int categoryId) {
+        for (Columns columns : categories) {
+            if (columns.categoryId == categoryId) {
+                return columns;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the dictionary ID of a name, adding the name if it is new.
+     * <p>
+     * Time Complexity: O(1) on average.
+     *
+     * @param name The device name.
+     * @return The name's ID.
+     */
+    private int internName(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+}
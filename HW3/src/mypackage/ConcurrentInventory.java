@@ -0,0 +1,313 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The ConcurrentInventory class is an inventory that many threads, such as point-of-sale terminals, can restock and
+ * sell from at the same time.
+ * <p>
+ * Every device keeps its quantity in an atomic counter that is changed with compare-and-set, so concurrent sales of
+ * the same device never lose an update and never take the quantity below zero. Each category splits its devices into
+ * stripes by name, each stripe guarded by its own lock, so adding, removing and looking up devices only contends with
+ * threads working on the same stripe. The total value is a {@link LongAdder} of cents, updated by every accepted change.
+ * <p>
+ * Prices are fixed once a device is added. Categories are never dropped, so a category keeps its place in listings
+ * after its last device is removed.
+ */
+class ConcurrentInventory {
+    /**
+     * Number of name stripes per category; a power of two.
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * Quantity of a device that has been removed. Changes to a removed device are refused.
+     */
+    private static final int REMOVED = -1;
+
+    /**
+     * A device and its stock. Everything but the quantity is fixed once the device is added.
+     */
+    static final class Stock {
+        final String category;
+        final String name;
+        final long priceCents;
+
+        /**
+         * Insertion order of the device across the whole inventory.
+         */
+        final long sequence;
+
+        /**
+         * The quantity in stock, or {@link #REMOVED}.
+         */
+        final AtomicInteger quantity;
+
+        Stock(String category, String name, long priceCents, int quantity, long sequence) {
+            this.category = category;
+            this.name = name;
+            this.priceCents = priceCents;
+            this.quantity = new AtomicInteger(quantity);
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * The devices of one category, split into stripes by name.
+     */
+    static final class Category {
+        final String name;
+
+        /**
+         * Devices by name, one map per stripe. A stripe's map is only used while holding its lock, which is the map
+         * itself.
+         */
+        final HashMap<String, ArrayList<Stock>>[] stripes;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Category(String name) {
+            this.name = name;
+            stripes = new HashMap[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new HashMap<>();
+            }
+        }
+
+        /**
+         * Returns the stripe that holds a device name.
+         *
+         * @param deviceName The device name.
+         * @return The stripe's map.
+         */
+        HashMap<String, ArrayList<Stock>> stripe(String deviceName) {
+            int h = deviceName.hashCode();
+            return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+        }
+    }
+
+    /**
+     * The categories by name.
+     */
+    private final ConcurrentHashMap<String, Category> categories = new ConcurrentHashMap<>();
+
+    /**
+     * The categories in creation order. Categories are only appended, so readers iterate a stable snapshot.
+     */
+    private final CopyOnWriteArrayList<Category> categoryOrder = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * The sum of price times quantity over all devices, in cents.
+     */
+    private final LongAdder totalValueCents = new LongAdder();
+
+    /**
+     * Adds a new device to the inventory.
+     * <p>
+     * Time Complexity: O(1) on average.
+     *
+     * @param categoryName The category name of the device.
+     * @param deviceName   The name of the device.
+     * @param price        The price of the device.
+     * @param quantity     The quantity of the device.
+     * @return false if the category is not registered or the quantity is negative, and nothing was added.
+     */
+    boolean addDevice(String categoryName, String deviceName, double price, int quantity) {
+        if (quantity < 0 || !CategoryRegistry.isRegistered(CategoryRegistry.idOf(categoryName))) {
+            return false;
+        }
+        Category category = categories.computeIfAbsent(categoryName, name -> {
+            Category created = new Category(name);
+            categoryOrder.add(created);
+            return created;
+        });
+        long priceCents = Money.toCents(price);
+        Stock stock = new Stock(categoryName, deviceName, priceCents, quantity, nextSequence.getAndIncrement());
+        HashMap<String, ArrayList<Stock>> stripe = category.stripe(deviceName);
+        synchronized (stripe) {
+            stripe.computeIfAbsent(deviceName, name -> new ArrayList<>(1)).add(stock);
+        }
+        totalValueCents.add(priceCents * quantity);
+        return true;
+    }
+
+    /**
+     * Removes the first device with the given name from the given category.
+     * <p>
+     * Time Complexity: O(1) on average, plus the number of devices of the category sharing the name.
+     *
+     * @param deviceName   The name of the device to remove.
+     * @param categoryName The category of the device.
+     * @return true if a device was removed.
+     */
+    boolean removeDevice(String deviceName, String categoryName) {
+        Category category = categories.get(categoryName);
+        if (category == null) {
+            return false;
+        }
+        Stock stock;
+        HashMap<String, ArrayList<Stock>> stripe = category.stripe(deviceName);
+        synchronized (stripe) {
+            ArrayList<Stock> sameName = stripe.get(deviceName);
+            if (sameName == null) {
+                return false;
+            }
+            stock = sameName.removeFirst();
+            if (sameName.isEmpty()) {
+                stripe.remove(deviceName);
+            }
+        }
+        // Refuse any later change to the device, then take its last quantity out of the total.
+        int last = stock.quantity.getAndSet(REMOVED);
+        totalValueCents.add(-stock.priceCents * last);
+        return true;
+    }
+
+    /**
+     * Restocks or reduces the quantity of a device.
+     * <p>
+     * The device is the first one with the given name in category creation order. Its quantity is changed with a
+     * compare-and-set loop, so concurrent changes are never lost. A reduction larger than the quantity in stock is
+     * refused and leaves the quantity unchanged.
+     * <p>
+     * Time Complexity: O(1) on average, retried only while other threads change the same device.
+     *
+     * @param deviceName     The name of the device to restock or reduce.
+     * @param quantityChange The amount by which to change the quantity of the device.
+     * @param isAdd          "Add" to increase the quantity or "Remove" to decrease it.
+     * @return The new quantity, or -1 if the device was not found or does not have enough stock.
+     * @throws IllegalArgumentException if the operation type is neither "Add" nor "Remove", or the change is negative.
+     */
+    int restockDevice(String deviceName, int quantityChange, String isAdd) {
+        if (quantityChange < 0) {
+            throw new IllegalArgumentException("Invalid input: Quantity change must not be negative.");
+        }
+        int delta;
+        if (isAdd.equals("Add")) {
+            delta = quantityChange;
+        } else if (isAdd.equals("Remove")) {
+            delta = -quantityChange;
+        } else {
+            throw new IllegalArgumentException("Invalid input: Operation type must be either 'Add' or 'Remove'.");
+        }
+        Stock stock = findStock(deviceName);
+        return stock == null ? -1 : changeQuantity(stock, delta);
+    }
+
+    /**
+     * Adds a change to the quantity of a device unless the device was removed or the result would be negative or
+     * overflow.
+     * <p>
+     * Time Complexity: O(1), retried only while other threads change the same device.
+     *
+     * @param stock The device.
+     * @param delta The change; negative to reduce the quantity.
+     * @return The new quantity, or -1 if the change was refused.
+     */
+    private int changeQuantity(Stock stock, int delta) {
+        AtomicInteger quantity = stock.quantity;
+        int current;
+        int updated;
+        do {
+            current = quantity.get();
+            if (current == REMOVED) {
+                return -1;
+            }
+            long next = (long) current + delta;
+            if (next < 0 || next > Integer.MAX_VALUE) {
+                return -1;
+            }
+            updated = (int) next;
+        } while (!quantity.compareAndSet(current, updated));
+        totalValueCents.add(stock.priceCents * delta);
+        return updated;
+    }
+
+    /**
+     * Finds the device with the given name that a listing would show first.
+     * <p>
+     * Time Complexity: O(c) stripe lookups, where c is the number of categories.
+     *
+     * @param deviceName The name of the device.
+     * @return The device's stock, or null if no device has that name.
+     */
+    private Stock findStock(String deviceName) {
+        for (Category category : categoryOrder) {
+            HashMap<String, ArrayList<Stock>> stripe = category.stripe(deviceName);
+            synchronized (stripe) {
+                ArrayList<Stock> sameName = stripe.get(deviceName);
+                if (sameName != null) {
+                    return sameName.getFirst();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the quantity in stock of the device with the given name that a listing would show first.
+     * <p>
+     * Time Complexity: O(c), where c is the number of categories.
+     *
+     * @param deviceName The name of the device.
+     * @return The quantity, or -1 if no device has that name.
+     */
+    int quantityOf(String deviceName) {
+        Stock stock = findStock(deviceName);
+        return stock == null ? -1 : stock.quantity.get();
+    }
+
+    /**
+     * Returns the total value of the inventory in cents. While other threads are changing the inventory, the result
+     * includes some of their changes.
+     * <p>
+     * Time Complexity: O(t), where t is the number of threads that have updated the total.
+     *
+     * @return The sum of price times quantity over all devices, in cents.
+     */
+    long totalValueCents() {
+        return totalValueCents.sum();
+    }
+
+    /**
+     * Returns a copy of every device, in listing order: by category creation, then by insertion. Each stripe is copied
+     * under its lock, so the copy is consistent per stripe but may mix states of different stripes while other threads
+     * are changing the inventory.
+     * <p>
+     * Time Complexity: O(n log n)
+     *
+     * @return Copies of the devices with their current quantities.
+     */
+    List<Device> devices() {
+        ArrayList<Device> devices = new ArrayList<>();
+        ArrayList<Stock> stocks = new ArrayList<>();
+        for (Category category : categoryOrder) {
+            stocks.clear();
+            for (HashMap<String, ArrayList<Stock>> stripe : category.stripes) {
+                synchronized (stripe) {
+                    for (ArrayList<Stock> sameName : stripe.values()) {
+                        stocks.addAll(sameName);
+                    }
+                }
+            }
+            stocks.sort(Comparator.comparingLong(stock -> stock.sequence));
+            for (Stock stock : stocks) {
+                int quantity = stock.quantity.get();
+                if (quantity != REMOVED) {
+                    Device device = CategoryRegistry.create(stock.category, stock.name, 0, quantity);
+                    device.setPriceCents(stock.priceCents);
+                    devices.add(device);
+                }
+            }
+        }
+        return devices;
+    }
+}
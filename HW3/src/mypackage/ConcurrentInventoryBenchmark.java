@@ -0,0 +1,115 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures restock and sale throughput of {@link ConcurrentInventory} under contention, against the same operations
+ * serialized by one global lock, for growing numbers of point-of-sale threads.
+ * <p>
+ * Every thread restocks or sells random devices; a small catalog makes threads collide on the same devices. After each
+ * run the benchmark checks that no quantity went negative and that the maintained total value matches the devices.
+ * <p>
+ * Usage: {@code java mypackage.ConcurrentInventoryBenchmark [deviceCount] [operationsPerThread]}
+ */
+public class ConcurrentInventoryBenchmark {
+    private static final String[] CATEGORIES = {"TV", "Headphones", "Smart Phone", "Smart Watch", "Laptop"};
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+    private static final int ROUNDS = 3;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of devices (default 1000) and operations per thread (default one million).
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int deviceCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        String[] names = new String[deviceCount];
+        for (int i = 0; i < deviceCount; i++) {
+            names[i] = "device-" + i;
+        }
+
+        for (int threads : THREADS) {
+            for (int round = 1; round <= ROUNDS; round++) {
+                double striped = run(names, threads, operations, false);
+                double locked = run(names, threads, operations, true);
+                System.out.printf("%2d threads, round %d: striped/CAS %.1f Mops/s, global lock %.1f Mops/s (x%.1f)%n",
+                    threads, round, striped, locked, striped / locked);
+            }
+        }
+    }
+
+    /**
+     * Runs one measurement on a fresh inventory.
+     *
+     * @param names      The device names.
+     * @param threads    The number of threads.
+     * @param operations The operations per thread.
+     * @param globalLock true to serialize every operation on one lock.
+     * @return The throughput in millions of operations per second.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    private static double run(String[] names, int threads, int operations, boolean globalLock) throws InterruptedException {
+        ConcurrentInventory inventory = new ConcurrentInventory();
+        for (int i = 0; i < names.length; i++) {
+            inventory.addDevice(CATEGORIES[i % CATEGORIES.length], names[i], 10 + i % 500, 50);
+        }
+        Object lock = new Object();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    String name = names[random.nextInt(names.length)];
+                    int change = 1 + random.nextInt(5);
+                    // Slightly more sales than restocks, so quantities keep hitting zero.
+                    String operation = random.nextInt(100) < 45 ? "Add" : "Remove";
+                    if (globalLock) {
+                        synchronized (lock) {
+                            inventory.restockDevice(name, change, operation);
+                        }
+                    } else {
+                        inventory.restockDevice(name, change, operation);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        check(inventory);
+        return (double) threads * operations / elapsed * 1000;
+    }
+
+    /**
+     * Checks that no quantity is negative and that the maintained total value matches the devices.
+     *
+     * @param inventory The inventory after a run.
+     */
+    private static void check(ConcurrentInventory inventory) {
+        long total = 0;
+        for (Device device : inventory.devices()) {
+            if (device.getQuantity() < 0) {
+                throw new IllegalStateException("Negative quantity: " + device);
+            }
+            total += device.getPriceCents() * device.getQuantity();
+        }
+        if (total != inventory.totalValueCents()) {
+            throw new IllegalStateException("Total value drifted: " + inventory.totalValueCents() + " vs " + total);
+        }
+    }
+}
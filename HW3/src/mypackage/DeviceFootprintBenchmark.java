@@ -0,0 +1,82 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.lang.ref.Reference;
+import java.util.Random;
+
+/**
+ * Measures the heap used per million devices, comparing the primitive-backed {@link Device} model with the boxed
+ * layout it replaced (a {@code Double} price and an {@code Integer} quantity per device).
+ * <p>
+ * Usage: {@code java mypackage.DeviceFootprintBenchmark [deviceCount]}
+ */
+public class DeviceFootprintBenchmark {
+    /**
+     * The device layout before prices and quantities were unboxed, kept here only as a baseline.
+     */
+    private static final class BoxedDevice {
+        String category;
+        String name;
+        Double price;
+        Integer quantity;
+
+        BoxedDevice(String category, String name, Double price, Integer quantity) {
+            this.category = category;
+            this.name = name;
+            this.price = price;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of devices to allocate (default one million).
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        // Names are shared by both layouts and created up front, so only the device objects are measured.
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = "device-" + i;
+        }
+
+        Random random = new Random(42);
+        long before = usedHeap();
+        Object[] boxed = new Object[count];
+        for (int i = 0; i < count; i++) {
+            boxed[i] = new BoxedDevice("Laptop", names[i], 10 + random.nextInt(500000) / 100.0, random.nextInt(1000));
+        }
+        long boxedBytes = usedHeap() - before;
+        Reference.reachabilityFence(boxed);
+        boxed = null;
+
+        random = new Random(42);
+        before = usedHeap();
+        Object[] primitive = new Object[count];
+        for (int i = 0; i < count; i++) {
+            primitive[i] = new Laptop(names[i], 10 + random.nextInt(500000) / 100.0, random.nextInt(1000));
+        }
+        long primitiveBytes = usedHeap() - before;
+
+        double perMillion = 1_000_000.0 / count / (1 << 20);
+        System.out.printf("Boxed devices:     %.1f MB per million (%.1f bytes each)%n", boxedBytes * perMillion, boxedBytes / (double) count);
+        System.out.printf("Primitive devices: %.1f MB per million (%.1f bytes each)%n", primitiveBytes * perMillion, primitiveBytes / (double) count);
+        System.out.printf("Saved:             %.1f MB per million%n", (boxedBytes - primitiveBytes) * perMillion);
+        Reference.reachabilityFence(primitive);
+    }
+
+    /**
+     * Returns the heap in use after asking the JVM to collect garbage a few times.
+     *
+     * @return The used heap in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -3,38 +3,159 @@ package mypackage;
 import mypackage.util.*;
 
 import java.io.*;
+import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.ToLongFunction;
 import java.text.DecimalFormat;
 import java.time.LocalDate;
 
 /**
  * The Inventory class represents an inventory system that stores devices categorized into different lists.
  * Each list contains devices of the same category.
+ * <p>
+ * Categories are kept in a hash map in the order they were first added, and every device is also indexed by name, so
+ * finding the category or the device for an operation never scans the inventory. Devices are created through the
+ * {@link CategoryRegistry}, and a device's category is found by its integer category ID.
  */
 class Inventory {
     /**
-     * The list of device categories, where each category has a list of devices.
+     * The device categories by name, in the order they were created. Each category keeps its devices in insertion order.
      */
-    LinkedList<ArrayList<Device>> inventoryList;
+    LinkedHashMap<String, Category> categories;
+
+    /**
+     * The categories of {@link #categories} by {@link CategoryRegistry} ID; null where the inventory has no such category.
+     */
+    private Category[] categoriesById = new Category[8];
+
+    /**
+     * Every device in the inventory by name. Devices sharing a name are kept in insertion order.
+     */
+    HashMap<String, ArrayList<Device>> devicesByName;
+
+    /**
+     * Every device in the inventory ordered by price. Devices with the same price keep the order a listing shows them in.
+     */
+    TreeMap<PriceKey, Device> devicesByPrice;
+
+    /**
+     * The key each device is currently stored under in {@link #devicesByPrice}.
+     */
+    IdentityHashMap<Device, PriceKey> priceKeys;
+
+    /**
+     * The sum of price times quantity over the whole inventory, kept up to date by every change so it never has to be
+     * recomputed. Decimal arithmetic keeps it exact however many changes are applied.
+     */
+    private BigDecimal totalValue = BigDecimal.ZERO;
+
+    /**
+     * Counter that orders categories by creation, including categories re-created after becoming empty.
+     */
+    private int nextCategorySequence = 0;
+
+    /**
+     * Counter that orders devices by insertion.
+     */
+    private long nextDeviceSequence = 0;
+
+    /**
+     * True between {@link #beginBatch()} and {@link #endBatch()}, while the price index and the value totals are not
+     * maintained.
+     */
+    private boolean batching = false;
+
+    /**
+     * The journal every change is written to before it is applied, or null if changes are not journaled.
+     */
+    private InventoryJournal journal;
+
+    /**
+     * Where adds, removes, updates and restocks report what they did, or null for {@link System#out}.
+     */
+    private PrintStream messages;
+
+    /**
+     * Position of a device in the price index: its price, then its position in a listing (category creation order, then
+     * insertion order), so equal prices come out in the same order a stable sort of the listing would give.
+     *
+     * @param priceCents       The price of the device in cents.
+     * @param categorySequence The creation sequence of the device's category.
+     * @param deviceSequence   The insertion sequence of the device.
+     */
+    record PriceKey(long priceCents, int categorySequence, long deviceSequence) implements Comparable<PriceKey> {
+        @Override
+        public int compareTo(PriceKey other) {
+            int byPrice = Long.compare(priceCents, other.priceCents);
+            if (byPrice != 0) {
+                return byPrice;
+            }
+            int byCategory = Integer.compare(categorySequence, other.categorySequence);
+            return byCategory != 0 ? byCategory : Long.compare(deviceSequence, other.deviceSequence);
+        }
+    }
+
+    /**
+     * The devices of one category, in insertion order.
+     */
+    static final class Category {
+        /**
+         * The category name, as returned by {@link Device#getCategory()}.
+         */
+        final String name;
+
+        /**
+         * The category ID, as returned by {@link Device#getCategoryId()}.
+         */
+        final int id;
+
+        /**
+         * Creation order of the category; lower values are listed first.
+         */
+        final int sequence;
+
+        /**
+         * The devices of the category. Devices use identity equality, so removal is constant time.
+         */
+        final LinkedHashSet<Device> devices = new LinkedHashSet<>();
+
+        /**
+         * The devices of the category ordered by price, under the same keys as {@link #devicesByPrice}.
+         */
+        final TreeMap<PriceKey, Device> byPrice = new TreeMap<>();
+
+        /**
+         * The sum of price times quantity over the devices of the category.
+         */
+        BigDecimal value = BigDecimal.ZERO;
+
+        Category(int id, int sequence) {
+            this.name = CategoryRegistry.nameOf(id);
+            this.id = id;
+            this.sequence = sequence;
+        }
+    }
 
     /**
      * Constructs a new Inventory object with an empty inventory list.
      */
     Inventory() {
-        inventoryList = new LinkedList<>();
+        categories = new LinkedHashMap<>();
+        devicesByName = new HashMap<>();
+        devicesByPrice = new TreeMap<>();
+        priceKeys = new IdentityHashMap<>();
     }
 
 
     /**
      * Adds a new device to the inventory.
      * <p>
-     * This method creates a new device object based on the provided category name, device name, price, and quantity. It
+     * This method creates a new device object with the factory the {@link CategoryRegistry} holds for the category. It
      * then adds the device to the inventory by finding the appropriate category list and appending the new device. If
      * the category doesn't exist in the inventory, a new category list is created, and the device is added to it.
      * <p>
-     * Time Complexity: O(n) The time complexity of this method is proportional to the number of categories (n) in the
-     * inventory. Since the number of categories are bounded by constant (in this example n=5 at max).
-     * So time complexity can be reduced to constant time O(1).
+     * Time Complexity: O(log n). The category is found by its ID and the device is appended to the category and
+     * to the name index in O(1) on average; inserting it into the price index takes O(log n).
      *
      * @param categoryName The category name of the device.
      * @param deviceName   The name of the device.
@@ -42,70 +163,192 @@ class Inventory {
      * @param quantity     The quantity of the device.
      */
     void addDevice(String categoryName, String deviceName, double price, int quantity) {
-        Device newDevice;
-        switch (categoryName) {
-            case "TV":
-                newDevice = new TV(deviceName, price, quantity);
-                break;
-            case "Headphones":
-                newDevice = new Headphones(deviceName, price, quantity);
-                break;
-            case "Smart Phone":
-                newDevice = new SmartPhone(deviceName, price, quantity);
-                break;
-            case "Smart Watch":
-                newDevice = new SmartWatch(deviceName, price, quantity);
-                break;
-            case "Laptop":
-                newDevice = new Laptop(deviceName, price, quantity);
-                break;
-            default:
-                return;
-        }
-        System.out.println(categoryName + ", " + deviceName + ", " + price + "$, " + quantity + " amount added...");
-        for (ArrayList<Device> deviceList : inventoryList) {
-            if (deviceList.getFirst().getCategory().equals(categoryName)) {
-                deviceList.add(newDevice);
-                return;
+        if (journal != null) {
+            journal.logAdd(categoryName, deviceName, price, quantity);
+        }
+        Device newDevice = CategoryRegistry.create(categoryName, deviceName, price, quantity);
+        if (newDevice == null) {
+            return;
+        }
+        messages().println(categoryName + ", " + deviceName + ", " + price + "$, " + quantity + " amount added...");
+        insertDevice(newDevice);
+    }
+
+    /**
+     * Adds a device read from a file, without printing anything.
+     * <p>
+     * Time Complexity: O(log n), as for {@link #addDevice(String, String, double, int)}.
+     *
+     * @param categoryName The category name of the device.
+     * @param deviceName   The name of the device.
+     * @param priceCents   The price of the device in cents.
+     * @param quantity     The quantity of the device.
+     * @return false if the category is unknown and nothing was added.
+     */
+    boolean loadDevice(String categoryName, String deviceName, long priceCents, int quantity) {
+        Device newDevice = CategoryRegistry.create(categoryName, deviceName, 0, quantity);
+        if (newDevice == null) {
+            return false;
+        }
+        newDevice.setPriceCents(priceCents);
+        insertDevice(newDevice);
+        return true;
+    }
+
+    /**
+     * Appends a new device to its category and adds it to the name and price indexes and the value totals.
+     * <p>
+     * Time Complexity: O(log n)
+     *
+     * @param newDevice The device to add.
+     */
+    private void insertDevice(Device newDevice) {
+        int categoryId = newDevice.getCategoryId();
+        Category category = categoryOf(categoryId);
+        if (category == null) {
+            category = new Category(categoryId, nextCategorySequence++);
+            categories.put(category.name, category);
+            if (categoryId >= categoriesById.length) {
+                categoriesById = Arrays.copyOf(categoriesById, Math.max(categoryId + 1, categoriesById.length * 2));
             }
+            categoriesById[categoryId] = category;
+        }
+        category.devices.add(newDevice);
+        devicesByName.computeIfAbsent(newDevice.getName(), name -> new ArrayList<>(1)).add(newDevice);
+        if (!batching) {
+            PriceKey key = new PriceKey(newDevice.getPriceCents(), category.sequence, nextDeviceSequence++);
+            devicesByPrice.put(key, newDevice);
+            category.byPrice.put(key, newDevice);
+            priceKeys.put(newDevice, key);
+            addValue(category, valueOf(newDevice));
         }
-        ArrayList<Device> newDeviceList = new ArrayList<>();
-        newDeviceList.add(newDevice);
-        inventoryList.add(newDeviceList);
     }
 
     /**
-     * Removes a device from the inventory.
+     * Returns the category with the given ID.
      * <p>
-     * This method removes a device with the specified name and category from the inventory. It searches through all
-     * device lists in the inventory to find the appropriate category first. Then, it iterates through devices in that
-     * category to find the device with the specified name. If found, the device is removed from the list. If the
-     * category becomes empty after removal, it is also removed from the inventory.
+     * Time Complexity: O(1)
+     *
+     * @param categoryId The category ID.
+     * @return The category, or null if the inventory has no devices of that category.
+     */
+    private Category categoryOf(int categoryId) {
+        return categoryId >= 0 && categoryId < categoriesById.length ? categoriesById[categoryId] : null;
+    }
+
+    /**
+     * Removes a device from the inventory.
      * <p>
-     * Time Complexity: O(n * m) The time complexity of this method is proportional to the product of the number of
-     * device lists (m) and the average number of devices in each category (n) in the inventory.
+     * This method removes a device with the specified name and category from the inventory. It looks up the devices
+     * with the specified name and removes the first one in that category. If the category becomes empty after removal,
+     * it is also removed from the inventory.
      * <p>
-     * Since device lists (category) is bounded by constant value (in this example 5), Time complexity can be considered as O(n).
+     * Time Complexity: O(log n). The device is found through the name index and removed from its category's linked hash
+     * set in O(1) on average; only devices sharing the same name are compared, by category ID. Removing it from the price index takes
+     * O(log n).
      *
      * @param deviceName   The name of the device to be removed.
      * @param categoryName The category of the device to be removed.
      */
     void removeDevice(String deviceName, String categoryName) {
-        for (ArrayList<Device> deviceList : inventoryList) {
-            if (deviceList.getFirst().getCategory().equals(categoryName)) {
-                for (Device device : deviceList) {
-                    if (device.getName().equals(deviceName)) {
-                        deviceList.remove(device);
-                        if (deviceList.isEmpty()) {
-                            inventoryList.remove(deviceList);
-                        }
-                        System.out.println("Device " + deviceName + " from category " + categoryName + " removed.");
-                        return;
-                    }
+        if (journal != null) {
+            journal.logRemove(deviceName, categoryName);
+        }
+        ArrayList<Device> sameName = devicesByName.get(deviceName);
+        int categoryId = CategoryRegistry.idOf(categoryName);
+        if (sameName != null) {
+            for (Device device : sameName) {
+                if (device.getCategoryId() == categoryId) {
+                    unindex(device);
+                    messages().println("Device " + deviceName + " from category " + categoryName + " removed.");
+                    return;
                 }
             }
         }
-        System.out.println("Device " + deviceName + " from category " + categoryName + " not found.");
+        messages().println("Device " + deviceName + " from category " + categoryName + " not found.");
+    }
+
+    /**
+     * Removes a device from its category, the name index and the price indexes, dropping the category once it is empty.
+     * <p>
+     * Time Complexity: O(log n), plus the number of devices sharing the device's name.
+     *
+     * @param device The device to remove.
+     */
+    private void unindex(Device device) {
+        Category category = categoriesById[device.getCategoryId()];
+        addValue(category, valueOf(device).negate());
+        category.devices.remove(device);
+        if (category.devices.isEmpty()) {
+            categories.remove(category.name);
+            categoriesById[category.id] = null;
+        }
+        ArrayList<Device> sameName = devicesByName.get(device.getName());
+        for (int i = 0; i < sameName.size(); i++) {
+            if (sameName.get(i) == device) {
+                sameName.remove(i);
+                break;
+            }
+        }
+        if (sameName.isEmpty()) {
+            devicesByName.remove(device.getName());
+        }
+        if (!batching) {
+            PriceKey key = priceKeys.remove(device);
+            devicesByPrice.remove(key);
+            category.byPrice.remove(key);
+        }
+    }
+
+    /**
+     * Changes the price of a device and moves it to its new place in the price indexes.
+     * <p>
+     * Time Complexity: O(log n)
+     *
+     * @param device   The device to reprice.
+     * @param newPrice The new price.
+     */
+    private void reprice(Device device, double newPrice) {
+        device.setPrice(newPrice);
+        if (batching) {
+            return;
+        }
+        PriceKey key = priceKeys.get(device);
+        if (key.priceCents() != device.getPriceCents()) {
+            TreeMap<PriceKey, Device> categoryByPrice = categoriesById[device.getCategoryId()].byPrice;
+            devicesByPrice.remove(key);
+            categoryByPrice.remove(key);
+            PriceKey newKey = new PriceKey(device.getPriceCents(), key.categorySequence(), key.deviceSequence());
+            devicesByPrice.put(newKey, device);
+            categoryByPrice.put(newKey, device);
+            priceKeys.put(device, newKey);
+        }
+    }
+
+    /**
+     * Finds the device with the given name that a listing would show first: the one in the earliest created category,
+     * and within that category the one added first.
+     * <p>
+     * Time Complexity: O(1) on average, plus the number of devices sharing the name.
+     *
+     * @param deviceName The name of the device.
+     * @return The device, or null if no device has that name.
+     */
+    private Device findDevice(String deviceName) {
+        ArrayList<Device> sameName = devicesByName.get(deviceName);
+        if (sameName == null) {
+            return null;
+        }
+        Device first = sameName.getFirst();
+        int firstSequence = categoriesById[first.getCategoryId()].sequence;
+        for (int i = 1; i < sameName.size(); i++) {
+            int sequence = categoriesById[sameName.get(i).getCategoryId()].sequence;
+            if (sequence < firstSequence) {
+                first = sameName.get(i);
+                firstSequence = sequence;
+            }
+        }
+        return first;
     }
 
     /**
@@ -114,10 +357,8 @@ class Inventory {
      * This method updates the price and quantity details of a device in the inventory based on the provided inputs. If
      * the new price or quantity is not specified (left blank), the current price or quantity of the device is retained.
      * <p>
-     * Time Complexity: O(n * m) The time complexity of this method is proportional to the product of the number of
-     * device lists (m) and the average number of devices in each category (n) in the inventory.
-     * <p>
-     * Since device lists (category) is bounded by constant value (in this example 5), Time complexity can be considered as O(n).
+     * Time Complexity: O(log n). The device is found through the name index in O(1) on average, and a price change moves
+     * it in the price index in O(log n).
      *
      * @param deviceName       The name of the device to update.
      * @param newPriceInput    The new price for the device (leave blank to keep the current price).
@@ -125,22 +366,24 @@ class Inventory {
      * @throws NumberFormatException if the new price or quantity input cannot be parsed to Double or Integer.
      */
     void updateDeviceDetails(String deviceName, String newPriceInput, String newQuantityInput) {
-        for (ArrayList<Device> deviceList : inventoryList) {
-            for (Device device : deviceList) {
-                if (device.getName().equals(deviceName)) {
-                    Double newPrice = newPriceInput.isEmpty() ? device.getPrice() : Double.parseDouble(newPriceInput.replace("$", ""));
-                    Integer newQuantity = newQuantityInput.isEmpty() ? device.getQuantity() : ((Integer) Integer.parseInt(newQuantityInput));
-
-                    device.setPrice(newPrice);
-                    device.setQuantity(newQuantity);
-                    System.out.println(
-                        deviceName + " details updated: Price - " + newPriceInput + ", Quantity - " + newQuantity);
-                    return;
-                }
-            }
+        if (journal != null) {
+            journal.logUpdate(deviceName, newPriceInput, newQuantityInput);
+        }
+        Device device = findDevice(deviceName);
+        if (device != null) {
+            Double newPrice = newPriceInput.isEmpty() ? device.getPrice() : Double.parseDouble(newPriceInput.replace("$", ""));
+            Integer newQuantity = newQuantityInput.isEmpty() ? device.getQuantity() : ((Integer) Integer.parseInt(newQuantityInput));
+
+            BigDecimal oldValue = valueOf(device);
+            reprice(device, newPrice);
+            device.setQuantity(newQuantity);
+            addValue(categoriesById[device.getCategoryId()], valueOf(device).subtract(oldValue));
+            messages().println(
+                deviceName + " details updated: Price - " + newPriceInput + ", Quantity - " + newQuantity);
+            return;
         }
 
-        System.out.println("Device not found in inventory.");
+        messages().println("Device not found in inventory.");
     }
 
     /**
@@ -149,7 +392,7 @@ class Inventory {
      * This method lists all devices currently stored in the inventory. It iterates through each device list in the
      * inventory and prints information about each device.
      * <p>
-     * The time complexity of this method is O(n*m) where m is the number of categories in the inventoryList and n is the
+     * The time complexity of this method is O(n*m) where m is the number of categories in the inventory and n is the
      * average number of devices in each category.
      *
      * <p>
@@ -158,8 +401,8 @@ class Inventory {
     void listAllDevices() {
         int line = 1;
         System.out.println("Device List:");
-        for (ArrayList<Device> deviceList : inventoryList) {
-            for (Device device : deviceList) {
+        for (Category category : categories.values()) {
+            for (Device device : category.devices) {
                 System.out.print(line++ + ". ");
                 System.out.println(device);
             }
@@ -169,48 +412,159 @@ class Inventory {
     /**
      * Finds and prints the cheapest device in the inventory.
      * <p>
-     * This method searches through all devices in the inventory to find the one with the lowest price. It starts by
-     * assuming the first device is the cheapest, then compares its price with all other devices. If a device with a
-     * lower price is found, it becomes the new cheapest device.
+     * The cheapest device is the first entry of the price index; among devices with the lowest price, the one listed
+     * first is chosen.
      * <p>
-     * Time Complexity: O(n * m) The time complexity of this method is proportional to the product of the number of
-     * device lists (m) and the average number of devices in each category (n) in the inventory.
-     * <p>
-     * Since device lists (category) is bounded by constant value (in this example 5), Time complexity can be considered as O(n).
+     * Time Complexity: O(log n)
      *
-     * @throws NullPointerException if the inventory is empty or if any device in the inventory has a null price.
+     * @throws NullPointerException if the inventory is empty.
      */
     void findCheapestDevice() {
-        Device cheapest = inventoryList.getFirst().getFirst();
-        for (ArrayList<Device> deviceList : inventoryList) {
-            for (Device device : deviceList) {
-                if (device.getPrice() < cheapest.getPrice()) {
-                    cheapest = device;
+        Device cheapest = devicesByPrice.firstEntry().getValue();
+        System.out.println("The cheapest device is:");
+        System.out.println(cheapest);
+    }
+
+    /**
+     * Returns the cheapest device in the inventory.
+     * <p>
+     * Time Complexity: O(log n)
+     *
+     * @return The cheapest device, or null if the inventory is empty.
+     */
+    Device cheapestDevice() {
+        Map.Entry<PriceKey, Device> first = devicesByPrice.firstEntry();
+        return first == null ? null : first.getValue();
+    }
+
+    /**
+     * Returns the most expensive device in the inventory.
+     * <p>
+     * Time Complexity: O(log n)
+     *
+     * @return The most expensive device, or null if the inventory is empty.
+     */
+    Device mostExpensiveDevice() {
+        Map.Entry<PriceKey, Device> last = devicesByPrice.lastEntry();
+        return last == null ? null : last.getValue();
+    }
+
+    /**
+     * Returns the devices whose price lies between the given bounds (both inclusive, rounded to cents), ordered by price.
+     * <p>
+     * Time Complexity: O(log n + k), where k is the number of devices in the range. The returned collection is a live
+     * view of the price index.
+     *
+     * @param minPrice The lowest price to include.
+     * @param maxPrice The highest price to include.
+     * @return The devices in the price range.
+     */
+    Collection<Device> devicesInPriceRange(double minPrice, double maxPrice) {
+        return devicesByPrice.subMap(
+            new PriceKey(Money.toCents(minPrice), Integer.MIN_VALUE, Long.MIN_VALUE), true,
+            new PriceKey(Money.toCents(maxPrice), Integer.MAX_VALUE, Long.MAX_VALUE), true).values();
+    }
+
+    /**
+     * Returns the devices of one category whose price lies between the given bounds (both inclusive, rounded to cents),
+     * ordered by price, for example all laptops between $500 and $900.
+     * <p>
+     * Time Complexity: O(log n + k), where k is the number of devices in the range. The returned collection is a live
+     * view of the category's price index.
+     *
+     * @param categoryName The name of the category.
+     * @param minPrice     The lowest price to include.
+     * @param maxPrice     The highest price to include.
+     * @return The devices of the category in the price range; empty if the category doesn't exist.
+     */
+    Collection<Device> devicesInPriceRange(String categoryName, double minPrice, double maxPrice) {
+        Category category = categories.get(categoryName);
+        if (category == null) {
+            return List.of();
+        }
+        return category.byPrice.subMap(
+            new PriceKey(Money.toCents(minPrice), Integer.MIN_VALUE, Long.MIN_VALUE), true,
+            new PriceKey(Money.toCents(maxPrice), Integer.MAX_VALUE, Long.MAX_VALUE), true).values();
+    }
+
+    /**
+     * Returns the devices with the lowest quantity in stock, lowest first. Among devices with the same quantity, the one
+     * listed first comes first.
+     * <p>
+     * Time Complexity: O(n log k). One pass over the inventory keeps the k best devices in a bounded heap.
+     *
+     * @param k The number of devices to return.
+     * @return At most k devices, ordered by quantity.
+     */
+    List<Device> lowestStock(int k) {
+        return topK(k, device -> -device.getQuantity());
+    }
+
+    /**
+     * Returns the devices with the highest stock value (price times quantity), highest first. Among devices with the
+     * same value, the one listed first comes first.
+     * <p>
+     * Time Complexity: O(n log k). One pass over the inventory keeps the k best devices in a bounded heap.
+     *
+     * @param k The number of devices to return.
+     * @return At most k devices, ordered by stock value.
+     */
+    List<Device> highestStockValue(int k) {
+        return topK(k, device -> device.getPriceCents() * device.getQuantity());
+    }
+
+    /**
+     * Returns the k devices with the highest score, in listing order for equal scores.
+     * <p>
+     * The heap holds the best devices seen so far with the worst of them on top, so each device is compared with the top
+     * and only replaces it when it scores strictly higher; a device listed later never displaces an equal one.
+     * <p>
+     * Time Complexity: O(n log k)
+     *
+     * @param k     The number of devices to return.
+     * @param score The score of a device.
+     * @return At most k devices, highest score first.
+     */
+    private List<Device> topK(int k, ToLongFunction<Device> score) {
+        if (k <= 0) {
+            return List.of();
+        }
+        record Ranked(Device device, long score, long order) {
+        }
+        // Worst on top: lowest score, and among equal scores the one listed last.
+        Comparator<Ranked> worstFirst = Comparator.comparingLong(Ranked::score)
+            .thenComparing(Comparator.comparingLong(Ranked::order).reversed());
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(Math.min(k, 1 << 16), worstFirst);
+        long order = 0;
+        for (Category category : categories.values()) {
+            for (Device device : category.devices) {
+                long deviceScore = score.applyAsLong(device);
+                if (heap.size() < k) {
+                    heap.add(new Ranked(device, deviceScore, order));
+                } else if (deviceScore > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new Ranked(device, deviceScore, order));
                 }
+                order++;
             }
         }
-        System.out.println("The cheapest device is:");
-        System.out.println(cheapest);
+        Ranked[] best = heap.toArray(new Ranked[0]);
+        Arrays.sort(best, worstFirst.reversed());
+        List<Device> devices = new ArrayList<>(best.length);
+        for (Ranked ranked : best) {
+            devices.add(ranked.device());
+        }
+        return devices;
     }
 
 
     /**
      * Sorts devices in the inventory by price and display it.
      * <p>
-     * Time Complexity: The time complexity of this method is O(n logn).
-     * <p>
-     * where n is the total number of devices in all the device lists in the inventory.
-     * This is because the method first iterates through all the device lists to create a single list of all devices (O(n)),
-     * then sorts this list using a comparison based sorting algorithm (O(n logn)).
+     * Time Complexity: O(n). The price index is already sorted, so the devices are printed with an in-order walk of it.
      */
     void sortDevicesByPrice() {
-        ArrayList<Device> allDevices = new ArrayList<>();
-        for (ArrayList<Device> deviceList : inventoryList) {
-            allDevices.addAll(deviceList);
-        }
-        Comparator<Device> priceComparator = Comparator.comparingDouble(Device::getPrice);
-        allDevices.sort(priceComparator);
-        for (var device : allDevices) {
+        for (var device : devicesByPrice.values()) {
             System.out.println(device);
         }
     }
@@ -218,26 +572,80 @@ class Inventory {
     /**
      * Calculates the total value of the inventory by summing the prices of all devices multiplied by their quantities.
      * <p>
-     * This method iterates through each device in the inventory and computes its value by multiplying its price with its
-     * quantity. The total value is then calculated by summing the values of all devices.
+     * The total is maintained incrementally by every add, remove, update and restock, so this method only formats it.
      * <p>
-     * Time Complexity: O(n * m) The time complexity of this method is proportional to the product of the number of
-     * device lists (m) and the average number of devices in each category (n) in the inventory.
-     * <p>
-     * Since device lists (category) is bounded by constant value (in this example 5), Time complexity can be considered as O(n).
+     * Time Complexity: O(1)
      *
      * @return The total value of the inventory.
-     * @throws NullPointerException if any device in the inventory has a null price or quantity.
      */
     String calculateTotalInventoryValue() {
         DecimalFormat df = new DecimalFormat("#,##0.00$");
-        double totalInventoryValue = 0;
-        for (ArrayList<Device> deviceList : inventoryList) {
-            for (Device device : deviceList) {
-                totalInventoryValue += device.getPrice() * device.getQuantity();
-            }
+        return df.format(totalValue);
+    }
+
+    /**
+     * Returns the exact total value of the inventory.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @return The sum of price times quantity over all devices.
+     */
+    BigDecimal totalValue() {
+        return totalValue;
+    }
+
+    /**
+     * Returns the exact total value of one category.
+     * <p>
+     * Time Complexity: O(1) on average.
+     *
+     * @param categoryName The name of the category.
+     * @return The sum of price times quantity over the devices of the category, or zero if the category doesn't exist.
+     */
+    BigDecimal categoryValue(String categoryName) {
+        Category category = categories.get(categoryName);
+        return category == null ? BigDecimal.ZERO : category.value;
+    }
+
+    /**
+     * Returns the value of a device as an exact decimal.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @param device The device.
+     * @return The price of the device times its quantity.
+     */
+    private static BigDecimal valueOf(Device device) {
+        return BigDecimal.valueOf(device.getPriceCents(), 2).multiply(BigDecimal.valueOf(device.getQuantity()));
+    }
+
+    /**
+     * Adds a change in value to a category's subtotal and to the inventory total.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @param category The category the change belongs to.
+     * @param delta    The change in value.
+     */
+    private void addValue(Category category, BigDecimal delta) {
+        if (batching) {
+            return;
         }
-        return df.format(totalInventoryValue);
+        category.value = category.value.add(delta);
+        totalValue = totalValue.add(delta);
+    }
+
+    /**
+     * Changes the quantity of a device by the given amount and updates the value totals.
+     * <p>
+     * Time Complexity: O(1) on average.
+     *
+     * @param device The device.
+     * @param change The amount to add to the quantity; negative to reduce it.
+     */
+    private void changeQuantity(Device device, int change) {
+        device.setQuantity(device.getQuantity() + change);
+        addValue(categoriesById[device.getCategoryId()], BigDecimal.valueOf(device.getPriceCents(), 2).multiply(BigDecimal.valueOf(change)));
     }
 
     /**
@@ -246,10 +654,7 @@ class Inventory {
      * This method searches for a device with the specified name in the inventory. If the device is found, its quantity
      * is adjusted based on the provided quantity change and operation type.
      * <p>
-     * Time Complexity: O(n * m) The time complexity of this method is proportional to the product of the number of
-     * device lists (m) and the average number of devices in each category (n) in the inventory.
-     * <p>
-     * Since device lists (category) is bounded by constant value (in this example 5), Time complexity can be considered as O(n).
+     * Time Complexity: O(1) on average, since the device is found through the name index.
      *
      * @param deviceName     The name of the device to restock or reduce.
      * @param quantityChange The amount by which to change the quantity of the device.
@@ -258,22 +663,99 @@ class Inventory {
      * @throws IllegalArgumentException if the operation type is neither "Add" nor "Remove".
      */
     void restockDevice(String deviceName, int quantityChange, String isAdd) {
-        for (ArrayList<Device> deviceList : inventoryList) {
-            for (Device device : deviceList) {
-                if (device.getName().equals(deviceName)) {
-                    if (isAdd.equals("Add")) {
-                        device.setQuantity(device.getQuantity() + quantityChange);
-                        System.out.println(deviceName + " restocked. New quantity: " + device.getQuantity());
-                    } else if (isAdd.equals("Remove")) {
-                        device.setQuantity(device.getQuantity() - quantityChange);
-                        System.out.println(deviceName + " reduced. New quantity: " + device.getQuantity());
-                    } else {
-                        throw new IllegalArgumentException("Invalid input: Operation type must be either 'Add' or 'Remove'.");
-                    }
-                    return;
-                }
+        if (journal != null) {
+            journal.logRestock(deviceName, quantityChange, isAdd);
+        }
+        Device device = findDevice(deviceName);
+        if (device == null) {
+            return;
+        }
+        if (isAdd.equals("Add")) {
+            changeQuantity(device, quantityChange);
+            messages().println(deviceName + " restocked. New quantity: " + device.getQuantity());
+        } else if (isAdd.equals("Remove")) {
+            changeQuantity(device, -quantityChange);
+            messages().println(deviceName + " reduced. New quantity: " + device.getQuantity());
+        } else {
+            throw new IllegalArgumentException("Invalid input: Operation type must be either 'Add' or 'Remove'.");
+        }
+    }
+
+    /**
+     * Sets the journal that every add, remove, update and restock is written to before it is applied.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @param journal The journal, or null to stop journaling.
+     */
+    void setJournal(InventoryJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Sets where adds, removes, updates and restocks report what they did, so a caller can collect or discard the
+     * messages of its own changes without replacing {@link System#out} for the whole process.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @param messages The stream for the messages, or null for {@link System#out}.
+     */
+    void setMessages(PrintStream messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Returns the stream the change messages go to.
+     *
+     * @return The stream set by {@link #setMessages(PrintStream)}, or {@link System#out}.
+     */
+    private PrintStream messages() {
+        return messages != null ? messages : System.out;
+    }
+
+    /**
+     * Starts a batch of changes. Until {@link #endBatch()}, adds, removes, updates and restocks only maintain the
+     * categories and the name index; the price index and the value totals are rebuilt once at the end of the batch.
+     * Price queries and value totals are not available during a batch.
+     * <p>
+     * Time Complexity: O(n), to drop the price indexes.
+     */
+    void beginBatch() {
+        batching = true;
+        devicesByPrice.clear();
+        priceKeys.clear();
+        for (Category category : categories.values()) {
+            category.byPrice.clear();
+        }
+    }
+
+    /**
+     * Ends a batch of changes, rebuilding the price indexes and the value totals in one pass over the inventory.
+     * <p>
+     * Time Complexity: O(n log n)
+     */
+    void endBatch() {
+        batching = false;
+        totalValue = BigDecimal.ZERO;
+        int deviceCount = 0;
+        for (Category category : categories.values()) {
+            deviceCount += category.devices.size();
+        }
+        priceKeys = new IdentityHashMap<>(deviceCount);
+        long sequence = 0;
+        for (Category category : categories.values()) {
+            category.value = BigDecimal.ZERO;
+            for (Device device : category.devices) {
+                // A listing walks categories in creation order and devices in insertion order, so fresh sequences
+                // keep the order of equal prices.
+                PriceKey key = new PriceKey(device.getPriceCents(), category.sequence, sequence++);
+                devicesByPrice.put(key, device);
+                category.byPrice.put(key, device);
+                priceKeys.put(device, key);
+                addValue(category, valueOf(device));
             }
         }
+        nextDeviceSequence = sequence;
     }
 
     /**
@@ -281,19 +763,18 @@ class Inventory {
      * <p>
      * This method exports the current inventory information to a text file with the provided filename address.
      * The report includes the date of generation, a list of devices categorized by category, and a summary
-     * containing the total number of devices and the total inventory value.
+     * containing the total number of devices and the total inventory value. Rows are formatted and written by an
+     * {@link InventoryReportWriter}, which produces the same text as {@code String.format} without its per-row cost.
      * <p>
      * Time Complexity: O(n * m), where (n) is the average number of devices in the category and (m) is the number of
-     * categories in the inventory. There are a bunch of constant operations and a function call which has O(n) complexity.
+     * categories in the inventory. The total value in the summary is maintained incrementally, so only the device rows cost O(n).
      * <p>
      * Since device lists (category) is bounded by constant value (in this example 5), Time complexity can be considered as O(n).
      *
      * @param filename The name of the file to export the inventory report to.
      */
     void exportInventoryReport(String filename) {
-        // Define the filename and create FileWriter and BufferedWriter
-        try (FileWriter fileWriter = new FileWriter(filename);
-             BufferedWriter writer = new BufferedWriter(fileWriter)) {
+        try (InventoryReportWriter writer = new InventoryReportWriter(filename)) {
             // Write the header
             writer.write("Electronics Shop Inventory Report\n");
             writer.write("Generated on: " + LocalDate.now() + "\n");
@@ -301,16 +782,10 @@ class Inventory {
             writer.write("| No. | Category | Name | Price | Quantity |\n");
             writer.write("---------------------------------------\n");
             // Write each device's information
-            DecimalFormat df = new DecimalFormat("#,##0.00$");
             int itemCount = 0;
-            for (List<Device> deviceList : inventoryList) {
-                for (Device device : deviceList) {
-                    writer.write(String.format("|%-2d | %-12s | %-12s | $%-8s | %-6d |\n",
-                        ++itemCount,
-                        device.getCategory(),
-                        device.getName(),
-                        df.format(device.getPrice()),
-                        device.getQuantity()));
+            for (Category category : categories.values()) {
+                for (Device device : category.devices) {
+                    writer.writeRow(++itemCount, device.getCategory(), device.getName(), device.getPriceCents(), device.getQuantity());
                 }
             }
             // Write summary
@@ -0,0 +1,490 @@
+package mypackage;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * The InventoryJournal class keeps an inventory across restarts with an append-only write-ahead journal of its changes
+ * and a checkpoint of its whole state.
+ * <p>
+ * Every {@code addDevice}, {@code removeDevice}, {@code updateDeviceDetails} and {@code restockDevice} call of the
+ * journaled inventory is appended to the journal before it is applied. Each record carries its length and a CRC-32C
+ * checksum, so a record torn by a crash is detected and dropped on recovery. Records are collected in memory and
+ * written with a single {@code fsync} per group: once {@link #GROUP_SIZE} records are waiting, after
+ * {@link #MAX_DELAY_MILLIS} at the latest, and on {@link #close()}. A crash can therefore lose at most the changes of the
+ * last group.
+ * <p>
+ * Once the journal grows past {@link #COMPACT_BYTES}, and when it is closed, the inventory is written to the checkpoint
+ * and the journal starts over. The checkpoint and the journal both carry a generation number, so a crash in the middle
+ * of a compaction never applies the records of an old journal to a newer checkpoint. On startup,
+ * {@link #recover()} loads the checkpoint and replays the journal in one batch.
+ */
+class InventoryJournal implements Closeable {
+    /**
+     * First bytes of a journal file ("INVJ").
+     */
+    private static final int JOURNAL_MAGIC = 0x494E564A;
+
+    /**
+     * First bytes of a checkpoint file ("INVC").
+     */
+    private static final int CHECKPOINT_MAGIC = 0x494E5643;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Length of the journal header: magic, version and generation.
+     */
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * Number of waiting records that triggers a commit.
+     */
+    static final int GROUP_SIZE = 64;
+
+    /**
+     * Longest time a record waits for its commit.
+     */
+    static final long MAX_DELAY_MILLIS = 50;
+
+    /**
+     * Journal size that triggers a compaction.
+     */
+    static final long COMPACT_BYTES = 8 << 20;
+
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte UPDATE = 3;
+    private static final byte RESTOCK = 4;
+
+    private final Path journalPath;
+    private final Path checkpointPath;
+
+    /**
+     * The inventory whose changes are journaled.
+     */
+    private Inventory inventory;
+
+    /**
+     * Generation of the current checkpoint and journal.
+     */
+    private long generation;
+
+    private FileChannel channel;
+
+    /**
+     * Bytes of the journal file, including records not yet written.
+     */
+    private long journalBytes;
+
+    /**
+     * Records waiting for the next commit, already framed with length and checksum.
+     */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(1 << 16);
+    private int pendingRecords = 0;
+
+    /**
+     * The record being encoded.
+     */
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32C crc = new CRC32C();
+
+    private final ScheduledExecutorService committer;
+
+    /**
+     * Whether the periodic commits and the shutdown commit have been set up, which {@link #recover()} does only once.
+     */
+    private boolean started = false;
+
+    /**
+     * Opens the journal and checkpoint files. Nothing is read until {@link #recover()}.
+     *
+     * @param journalFile    The journal file.
+     * @param checkpointFile The checkpoint file.
+     */
+    InventoryJournal(String journalFile, String checkpointFile) {
+        journalPath = Path.of(journalFile);
+        checkpointPath = Path.of(checkpointFile);
+        committer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "inventory-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Rebuilds the inventory from the checkpoint and the journal, and starts journaling its changes.
+     * <p>
+     * Records after the last intact one are cut off the journal. A journal older than the checkpoint is ignored, since
+     * the checkpoint already contains its changes.
+     * <p>
+     * Time Complexity: O(n log n + k), where n is the number of devices and k the number of journal records.
+     *
+     * @return The recovered inventory.
+     * @throws IOException if a file cannot be read or written.
+     */
+    synchronized Inventory recover() throws IOException {
+        Inventory recovered;
+        if (Files.exists(checkpointPath)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointPath), 1 << 16))) {
+                if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != VERSION) {
+                    throw new IOException(checkpointPath + " is not an inventory checkpoint");
+                }
+                generation = in.readLong();
+                recovered = InventoryStorage.readSnapshot(in, checkpointPath.toString());
+            }
+        } else {
+            generation = 0;
+            recovered = new Inventory();
+        }
+
+        long validBytes = Files.exists(journalPath) ? replay(recovered) : -1;
+        if (validBytes < 0) {
+            startJournal();
+        } else {
+            channel = FileChannel.open(journalPath, StandardOpenOption.WRITE);
+            channel.truncate(validBytes);
+            channel.position(validBytes);
+            journalBytes = validBytes;
+        }
+        inventory = recovered;
+        recovered.setJournal(this);
+        if (!started) {
+            started = true;
+            committer.scheduleWithFixedDelay(this::commitIfDue, MAX_DELAY_MILLIS, MAX_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            // Also commit the last group when the program ends without closing the journal, e.g. on an uncaught exception.
+            Runtime.getRuntime().addShutdownHook(new Thread(this::commitIfDue, "inventory-journal-shutdown"));
+        }
+        return recovered;
+    }
+
+    /**
+     * Applies the journal records to an inventory in one batch. The messages of the replayed calls are discarded through
+     * {@link Inventory#setMessages(PrintStream)}, so the output of other threads is not affected.
+     * <p>
+     * Time Complexity: O(n log n + k)
+     *
+     * @param target The inventory loaded from the checkpoint.
+     * @return The length of the intact part of the journal, or -1 if the journal does not belong to the checkpoint.
+     * @throws IOException if the journal cannot be read.
+     */
+    private long replay(Inventory target) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath), 1 << 16))) {
+            try {
+                if (in.readInt() != JOURNAL_MAGIC || in.readInt() != VERSION || in.readLong() != generation) {
+                    return -1;
+                }
+            } catch (EOFException e) {
+                return -1;
+            }
+            long validBytes = HEADER_BYTES;
+            target.setMessages(new PrintStream(OutputStream.nullOutputStream()));
+            target.beginBatch();
+            try {
+                byte[] payload = new byte[256];
+                while (true) {
+                    int length;
+                    int checksum;
+                    try {
+                        length = in.readInt();
+                        checksum = in.readInt();
+                        if (length <= 0 || length > (1 << 20)) {
+                            break;
+                        }
+                        if (payload.length < length) {
+                            payload = new byte[Math.max(length, payload.length * 2)];
+                        }
+                        in.readFully(payload, 0, length);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    crc.reset();
+                    crc.update(payload, 0, length);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                    apply(target, new DataInputStream(new ByteArrayInputStream(payload, 0, length)));
+                    validBytes += 8 + length;
+                }
+            } finally {
+                target.endBatch();
+                target.setMessages(null);
+            }
+            return validBytes;
+        }
+    }
+
+    /**
+     * Applies one journal record to an inventory. A call that threw when it was first made had no effect then, so it is
+     * skipped.
+     *
+     * @param target The inventory.
+     * @param in     The record payload.
+     * @throws IOException if the payload is malformed.
+     */
+    private static void apply(Inventory target, DataInputStream in) throws IOException {
+        byte operation = in.readByte();
+        try {
+            switch (operation) {
+                case ADD -> target.addDevice(in.readUTF(), in.readUTF(), in.readDouble(), in.readInt());
+                case REMOVE -> target.removeDevice(in.readUTF(), in.readUTF());
+                case UPDATE -> target.updateDeviceDetails(in.readUTF(), in.readUTF(), in.readUTF());
+                case RESTOCK -> target.restockDevice(in.readUTF(), in.readInt(), in.readUTF());
+                default -> throw new IOException("Unknown journal record " + operation);
+            }
+        } catch (IllegalArgumentException e) {
+            // The original call failed the same way.
+        }
+    }
+
+    /**
+     * Journals an {@link Inventory#addDevice(String, String, double, int)} call.
+     *
+     * @param categoryName The category name of the device.
+     * @param deviceName   The name of the device.
+     * @param price        The price of the device.
+     * @param quantity     The quantity of the device.
+     */
+    synchronized void logAdd(String categoryName, String deviceName, double price, int quantity) {
+        try {
+            beginRecord(ADD);
+            recordOut.writeUTF(categoryName);
+            recordOut.writeUTF(deviceName);
+            recordOut.writeDouble(price);
+            recordOut.writeInt(quantity);
+            endRecord();
+        } catch (IOException e) {
+            report("writing", e);
+        }
+    }
+
+    /**
+     * Journals an {@link Inventory#removeDevice(String, String)} call.
+     *
+     * @param deviceName   The name of the device.
+     * @param categoryName The category of the device.
+     */
+    synchronized void logRemove(String deviceName, String categoryName) {
+        try {
+            beginRecord(REMOVE);
+            recordOut.writeUTF(deviceName);
+            recordOut.writeUTF(categoryName);
+            endRecord();
+        } catch (IOException e) {
+            report("writing", e);
+        }
+    }
+
+    /**
+     * Journals an {@link Inventory#updateDeviceDetails(String, String, String)} call.
+     *
+     * @param deviceName       The name of the device.
+     * @param newPriceInput    The new price input.
+     * @param newQuantityInput The new quantity input.
+     */
+    synchronized void logUpdate(String deviceName, String newPriceInput, String newQuantityInput) {
+        try {
+            beginRecord(UPDATE);
+            recordOut.writeUTF(deviceName);
+            recordOut.writeUTF(newPriceInput);
+            recordOut.writeUTF(newQuantityInput);
+            endRecord();
+        } catch (IOException e) {
+            report("writing", e);
+        }
+    }
+
+    /**
+     * Journals an {@link Inventory#restockDevice(String, int, String)} call.
+     *
+     * @param deviceName     The name of the device.
+     * @param quantityChange The quantity change.
+     * @param isAdd          "Add" or "Remove".
+     */
+    synchronized void logRestock(String deviceName, int quantityChange, String isAdd) {
+        try {
+            beginRecord(RESTOCK);
+            recordOut.writeUTF(deviceName);
+            recordOut.writeInt(quantityChange);
+            recordOut.writeUTF(isAdd);
+            endRecord();
+        } catch (IOException e) {
+            report("writing", e);
+        }
+    }
+
+    /**
+     * Starts encoding a record, first compacting the journal if it has grown too large. The inventory already contains
+     * every journaled change at this point, since each change is applied right after it is journaled.
+     *
+     * @param operation The record type.
+     * @throws IOException if the compaction fails.
+     */
+    private void beginRecord(byte operation) throws IOException {
+        if (journalBytes >= COMPACT_BYTES) {
+            compact();
+        }
+        record.reset();
+        recordOut.writeByte(operation);
+    }
+
+    /**
+     * Frames the encoded record with its length and checksum and queues it for the next commit.
+     *
+     * @throws IOException if the commit fails.
+     */
+    private void endRecord() throws IOException {
+        crc.reset();
+        crc.update(record.toByteArray(), 0, record.size());
+        DataOutputStream framed = new DataOutputStream(pending);
+        framed.writeInt(record.size());
+        framed.writeInt((int) crc.getValue());
+        record.writeTo(pending);
+        journalBytes += 8 + record.size();
+        if (++pendingRecords >= GROUP_SIZE) {
+            commit();
+        }
+    }
+
+    /**
+     * Writes the waiting records and forces them to disk with one {@code fsync}.
+     * <p>
+     * Time Complexity: O(r), where r is the size of the waiting records.
+     *
+     * @throws IOException if writing fails.
+     */
+    synchronized void commit() throws IOException {
+        if (pendingRecords == 0) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(pending.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+        pending.reset();
+        pendingRecords = 0;
+    }
+
+    /**
+     * Commits the waiting records; called periodically so no record waits longer than {@link #MAX_DELAY_MILLIS}.
+     */
+    private synchronized void commitIfDue() {
+        try {
+            if (channel != null && channel.isOpen()) {
+                commit();
+            }
+        } catch (IOException e) {
+            report("writing", e);
+        }
+    }
+
+    /**
+     * Writes the inventory to the checkpoint and starts an empty journal of the next generation.
+     * <p>
+     * The checkpoint is written to a temporary file and moved into place, so the previous checkpoint stays intact until
+     * the new one is complete.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @throws IOException if a file cannot be written.
+     */
+    synchronized void compact() throws IOException {
+        long next = generation + 1;
+        Path temporary = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(next);
+            InventoryStorage.writeSnapshot(inventory, out);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // From here on the old journal is stale: its generation no longer matches the checkpoint.
+        generation = next;
+        pending.reset();
+        pendingRecords = 0;
+        if (channel != null) {
+            channel.close();
+        }
+        startJournal();
+    }
+
+    /**
+     * Replaces the journaled inventory, for example after an inventory was loaded from a file, and checkpoints it.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @param replacement The inventory whose changes are journaled from now on.
+     * @throws IOException if a file cannot be written.
+     */
+    synchronized void reset(Inventory replacement) throws IOException {
+        if (inventory != null) {
+            inventory.setJournal(null);
+        }
+        inventory = replacement;
+        replacement.setJournal(this);
+        compact();
+    }
+
+    /**
+     * Creates an empty journal of the current generation, replacing the journal file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void startJournal() throws IOException {
+        Path temporary = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try (FileChannel header = FileChannel.open(temporary,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate(HEADER_BYTES).putInt(JOURNAL_MAGIC).putInt(VERSION).putLong(generation).flip();
+            while (bytes.hasRemaining()) {
+                header.write(bytes);
+            }
+            header.force(true);
+        }
+        Files.move(temporary, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journalBytes = HEADER_BYTES;
+    }
+
+    /**
+     * Prints a journal failure the way the rest of the system reports file errors.
+     *
+     * @param action What was being done.
+     * @param e      The failure.
+     */
+    private static void report(String action, IOException e) {
+        System.out.println("Error occurred while " + action + " inventory journal: " + e.getMessage());
+    }
+
+    /**
+     * Stops the periodic commits, checkpoints the inventory if the journal holds any records, and closes the journal.
+     *
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        committer.shutdownNow();
+        try {
+            if (journalBytes > HEADER_BYTES) {
+                compact();
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * The InventoryReportWriter class writes the fixed-width rows of the inventory report without {@code String.format}
+ * or {@code DecimalFormat}.
+ * <p>
+ * Rows are formatted into a reusable character buffer, encoded into a reusable byte buffer and written to a
+ * {@link FileChannel} in large blocks. The output is byte for byte what
+ * {@code String.format("|%-2d | %-12s | %-12s | $%-8s | %-6d |\n", ...)} with a {@code DecimalFormat("#,##0.00$")}
+ * price produces in the default locale and charset.
+ */
+class InventoryReportWriter implements Closeable {
+    /**
+     * Number of characters collected before they are encoded and written.
+     */
+    private static final int FLUSH_THRESHOLD = 1 << 15;
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final StringBuilder text = new StringBuilder(FLUSH_THRESHOLD + 256);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(1 << 17);
+    private final StringBuilder price = new StringBuilder(32);
+
+    /**
+     * The digit zero of the default locale; {@code %d} renders digits relative to it.
+     */
+    private final char zero;
+
+    /**
+     * Opens the report file, replacing any previous content.
+     *
+     * @param filename The name of the report file.
+     * @throws IOException if the file cannot be opened.
+     */
+    InventoryReportWriter(String filename) throws IOException {
+        channel = FileChannel.open(Path.of(filename),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        zero = DecimalFormatSymbols.getInstance().getZeroDigit();
+    }
+
+    /**
+     * Writes text as it is.
+     * <p>
+     * Time Complexity: O(k), where k is the length of the text.
+     *
+     * @param line The text to write.
+     * @throws IOException if writing fails.
+     */
+    void write(String line) throws IOException {
+        text.append(line);
+        flushIfFull();
+    }
+
+    /**
+     * Writes one device row of the report.
+     * <p>
+     * Time Complexity: O(k), where k is the length of the row.
+     *
+     * @param number     The row number.
+     * @param category   The category of the device.
+     * @param name       The name of the device.
+     * @param priceCents The price of the device in cents.
+     * @param quantity   The quantity of the device.
+     * @throws IOException if writing fails.
+     */
+    void writeRow(int number, String category, String name, long priceCents, int quantity) throws IOException {
+        text.append('|');
+        appendInteger(number, 2);
+        text.append(" | ");
+        appendPadded(category, 12);
+        text.append(" | ");
+        appendPadded(name, 12);
+        text.append(" | $");
+        price.setLength(0);
+        appendPadded(Money.appendTo(price, priceCents), 8);
+        text.append(" | ");
+        appendInteger(quantity, 6);
+        text.append(" |\n");
+        flushIfFull();
+    }
+
+    /**
+     * Appends text left-justified in a field of the given width, as {@code %-<width>s} does.
+     *
+     * @param value The text.
+     * @param width The minimum width.
+     */
+    private void appendPadded(CharSequence value, int width) {
+        text.append(value);
+        for (int i = value.length(); i < width; i++) {
+            text.append(' ');
+        }
+    }
+
+    /**
+     * Appends an integer left-justified in a field of the given width, as {@code %-<width>d} does.
+     *
+     * @param value The integer.
+     * @param width The minimum width.
+     */
+    private void appendInteger(int value, int width) {
+        int start = text.length();
+        text.append(value);
+        if (zero != '0') {
+            for (int i = start; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    text.setCharAt(i, (char) (zero + c - '0'));
+                }
+            }
+        }
+        for (int i = text.length() - start; i < width; i++) {
+            text.append(' ');
+        }
+    }
+
+    /**
+     * Encodes and writes the collected text once it has reached the flush threshold.
+     *
+     * @throws IOException if writing fails.
+     */
+    private void flushIfFull() throws IOException {
+        if (text.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Encodes and writes all collected text.
+     *
+     * @throws IOException if writing fails.
+     */
+    private void flush() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, false);
+            drain();
+        } while (result.isOverflow());
+        // Keep a dangling high surrogate for the next block.
+        String rest = chars.toString();
+        text.setLength(0);
+        text.append(rest);
+    }
+
+    /**
+     * Writes the encoded bytes to the channel.
+     *
+     * @throws IOException if writing fails.
+     */
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Writes everything that is still buffered and closes the file.
+     *
+     * @throws IOException if writing or closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (encoder.encode(chars, bytes, true).isOverflow()) {
+                drain();
+            }
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+            text.setLength(0);
+        } finally {
+            channel.close();
+        }
+    }
+}
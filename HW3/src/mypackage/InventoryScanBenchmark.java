@@ -0,0 +1,89 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Compares full scans over the object-per-device {@link Inventory} with the same scans over {@link ColumnarInventory}:
+ * the total value and the cheapest device.
+ * <p>
+ * Usage: {@code java mypackage.InventoryScanBenchmark [deviceCount]}
+ */
+public class InventoryScanBenchmark {
+    private static final String[] CATEGORIES = {"TV", "Headphones", "Smart Phone", "Smart Watch", "Laptop"};
+    private static final int ROUNDS = 10;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of devices (default one million).
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        Inventory inventory = new Inventory();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        for (int i = 0; i < count; i++) {
+            inventory.addDevice(CATEGORIES[random.nextInt(CATEGORIES.length)], "device-" + i,
+                1 + random.nextInt(500000) / 100.0, random.nextInt(1000));
+        }
+        System.setOut(stdout);
+        ColumnarInventory columnar = ColumnarInventory.copyOf(inventory);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            long objectTotal = objectTotalValue(inventory);
+            Device objectCheapest = objectCheapest(inventory);
+            double objectMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            long columnTotal = columnar.totalValueCents();
+            Device columnCheapest = columnar.cheapestDevice();
+            double columnMillis = (System.nanoTime() - start) / 1e6;
+
+            if (objectTotal != columnTotal || !objectCheapest.getName().equals(columnCheapest.getName())) {
+                throw new IllegalStateException("Scans disagree: " + objectTotal + " vs " + columnTotal);
+            }
+            System.out.printf("Round %d: objects %.2f ms, columns %.2f ms (x%.1f)%n",
+                round, objectMillis, columnMillis, objectMillis / columnMillis);
+        }
+    }
+
+    /**
+     * The total value computed the way a full scan over device objects does it.
+     *
+     * @param inventory The inventory.
+     * @return The total value in cents.
+     */
+    private static long objectTotalValue(Inventory inventory) {
+        long total = 0;
+        for (Inventory.Category category : inventory.categories.values()) {
+            for (Device device : category.devices) {
+                total += device.getPriceCents() * device.getQuantity();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * The cheapest device found with a full scan over device objects.
+     *
+     * @param inventory The inventory.
+     * @return The first device with the lowest price.
+     */
+    private static Device objectCheapest(Inventory inventory) {
+        Device cheapest = null;
+        for (Inventory.Category category : inventory.categories.values()) {
+            for (Device device : category.devices) {
+                if (cheapest == null || device.getPriceCents() < cheapest.getPriceCents()) {
+                    cheapest = device;
+                }
+            }
+        }
+        return cheapest;
+    }
+}
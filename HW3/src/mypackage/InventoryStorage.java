@@ -0,0 +1,313 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The InventoryStorage class saves an {@link Inventory} to files that can be loaded back: a CSV file for exchanging the
+ * catalog with other tools, and a compact binary snapshot for fast restarts.
+ * <p>
+ * Both formats keep categories in creation order and devices in insertion order, so a reloaded inventory lists its
+ * devices exactly as the saved one did. Prices are stored as whole cents, so they round-trip exactly.
+ */
+class InventoryStorage {
+    /**
+     * First bytes of a snapshot file ("INV1").
+     */
+    private static final int SNAPSHOT_MAGIC = 0x494E5631;
+
+    /**
+     * Version of the snapshot layout.
+     */
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * Header line of the CSV format.
+     */
+    private static final String CSV_HEADER = "category,name,price,quantity";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private InventoryStorage() {
+    }
+
+    /**
+     * Writes the inventory as CSV with a header line. Fields containing commas, quotes or line breaks are quoted.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @param inventory The inventory to write.
+     * @param filename  The CSV file to create.
+     * @throws IOException if the file cannot be written.
+     */
+    static void exportCsv(Inventory inventory, String filename) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            StringBuilder line = new StringBuilder(128);
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            for (Inventory.Category category : inventory.categories.values()) {
+                for (Device device : category.devices) {
+                    line.setLength(0);
+                    appendCsvField(line, category.name).append(',');
+                    appendCsvField(line, device.getName()).append(',');
+                    line.append(BigDecimal.valueOf(device.getPriceCents(), 2).toPlainString()).append(',');
+                    line.append(device.getQuantity()).append('\n');
+                    writer.append(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads an inventory from a CSV file written by {@link #exportCsv(Inventory, String)} or by hand: a header line,
+     * then one device per line with category, name, price and quantity.
+     * <p>
+     * Time Complexity: O(n log n), one pass over the file with an O(log n) insertion per device.
+     *
+     * @param filename The CSV file to read.
+     * @return The loaded inventory.
+     * @throws IOException if the file cannot be read, a row is malformed or a row names an unknown category.
+     */
+    static Inventory importCsv(String filename) throws IOException {
+        Inventory inventory = new Inventory();
+        try (Reader reader = new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            String[] fields = new String[4];
+            if (csv.readRow(fields) < 0) {
+                return inventory;
+            }
+            int fieldCount;
+            while ((fieldCount = csv.readRow(fields)) >= 0) {
+                if (fieldCount == 1 && fields[0].isEmpty()) {
+                    continue;
+                }
+                if (fieldCount != 4) {
+                    throw new IOException(filename + ":" + csv.lineNumber + ": expected 4 fields but found " + fieldCount);
+                }
+                long priceCents;
+                int quantity;
+                try {
+                    priceCents = new BigDecimal(fields[2].trim()).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+                    quantity = Integer.parseInt(fields[3].trim());
+                } catch (NumberFormatException | ArithmeticException e) {
+                    throw new IOException(filename + ":" + csv.lineNumber + ": invalid number", e);
+                }
+                if (!inventory.loadDevice(fields[0], fields[1], priceCents, quantity)) {
+                    throw new IOException(filename + ":" + csv.lineNumber + ": unknown category " + fields[0]);
+                }
+            }
+        }
+        return inventory;
+    }
+
+    /**
+     * Writes the inventory as a binary snapshot: a header, then each category with its devices.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @param inventory The inventory to write.
+     * @param filename  The snapshot file to create.
+     * @throws IOException if the file cannot be written.
+     */
+    static void writeSnapshot(Inventory inventory, String filename) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename), BUFFER_SIZE))) {
+            writeSnapshot(inventory, out);
+        }
+    }
+
+    /**
+     * Writes the inventory as a binary snapshot to a stream, which is left open.
+     * <p>
+     * Time Complexity: O(n)
+     *
+     * @param inventory The inventory to write.
+     * @param out       The stream to write to.
+     * @throws IOException if writing fails.
+     */
+    static void writeSnapshot(Inventory inventory, DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(inventory.categories.size());
+        for (Inventory.Category category : inventory.categories.values()) {
+            out.writeUTF(category.name);
+            out.writeInt(category.devices.size());
+            for (Device device : category.devices) {
+                out.writeUTF(device.getName());
+                out.writeLong(device.getPriceCents());
+                out.writeInt(device.getQuantity());
+            }
+        }
+    }
+
+    /**
+     * Reads an inventory from a snapshot written by {@link #writeSnapshot(Inventory, String)} in a single pass.
+     * <p>
+     * Time Complexity: O(n log n), one pass over the file with an O(log n) insertion per device.
+     *
+     * @param filename The snapshot file to read.
+     * @return The loaded inventory.
+     * @throws IOException if the file cannot be read or is not a snapshot.
+     */
+    static Inventory readSnapshot(String filename) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename), BUFFER_SIZE))) {
+            return readSnapshot(in, filename);
+        }
+    }
+
+    /**
+     * Reads an inventory from a snapshot in a stream, which is left open.
+     * <p>
+     * Time Complexity: O(n log n)
+     *
+     * @param in     The stream to read from.
+     * @param source The name of the stream's file, for error messages.
+     * @return The loaded inventory.
+     * @throws IOException if reading fails or the stream does not hold a snapshot.
+     */
+    static Inventory readSnapshot(DataInputStream in, String source) throws IOException {
+        Inventory inventory = new Inventory();
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException(source + " is not an inventory snapshot");
+        }
+        int categoryCount = in.readInt();
+        for (int c = 0; c < categoryCount; c++) {
+            String categoryName = in.readUTF();
+            int deviceCount = in.readInt();
+            for (int d = 0; d < deviceCount; d++) {
+                String deviceName = in.readUTF();
+                long priceCents = in.readLong();
+                int quantity = in.readInt();
+                if (!inventory.loadDevice(categoryName, deviceName, priceCents, quantity)) {
+                    throw new IOException(source + " contains the unknown category " + categoryName);
+                }
+            }
+        }
+        return inventory;
+    }
+
+    /**
+     * Appends a CSV field, quoting it if it contains a comma, a quote or a line break.
+     *
+     * @param line  The line being built.
+     * @param value The field value.
+     * @return The line.
+     */
+    private static StringBuilder appendCsvField(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+
+    /**
+     * Splits CSV text into rows, following RFC 4180 quoting: quoted fields may contain commas, doubled quotes and line
+     * breaks.
+     */
+    static final class CsvReader {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder(64);
+        private final char[] buffer = new char[8192];
+        private int position = 0;
+        private int limit = 0;
+        private int pending = -2;
+
+        /**
+         * Line number of the last row read, counting from 1.
+         */
+        int lineNumber = 0;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the next row into fields. Fields beyond the array length are counted but not stored.
+         *
+         * @param fields The array to fill.
+         * @return The number of fields in the row, or -1 at the end of the input.
+         * @throws IOException if reading fails or a quoted field is not closed.
+         */
+        int readRow(String[] fields) throws IOException {
+            int c = next();
+            if (c < 0) {
+                return -1;
+            }
+            lineNumber++;
+            int count = 0;
+            boolean quoted = false;
+            field.setLength(0);
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        throw new IOException("Unclosed quote in CSV row " + lineNumber);
+                    }
+                    if (c == '"') {
+                        c = next();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',' || c == '\n' || c == '\r' || c < 0) {
+                    if (count < fields.length) {
+                        fields[count] = field.toString();
+                    }
+                    count++;
+                    field.setLength(0);
+                    if (c != ',') {
+                        if (c == '\r') {
+                            int after = next();
+                            if (after != '\n') {
+                                pending = after;
+                            }
+                        }
+                        return count;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                c = next();
+            }
+        }
+
+        private int next() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            // Reads in blocks; a read() call per character would lock the reader every time.
+            if (position == limit) {
+                int read = reader.read(buffer, 0, buffer.length);
+                if (read <= 0) {
+                    return -1;
+                }
+                position = 0;
+                limit = read;
+            }
+            return buffer[position++];
+        }
+    }
+}
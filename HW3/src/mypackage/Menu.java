@@ -1,6 +1,12 @@
 package mypackage;
 
+import mypackage.util.CategoryRegistry;
+import mypackage.util.Device;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.InputMismatchException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -12,19 +18,41 @@ import java.util.Scanner;
  */
 public class Menu {
     /**
-     * The inventory associated with the menu.
+     * The inventory associated with the menu. It is replaced when an inventory is loaded from a file.
      */
-    private final Inventory inventory;
+    private Inventory inventory;
+    /**
+     * Journal that keeps the inventory across restarts.
+     */
+    private final InventoryJournal journal = new InventoryJournal("src/inventory.journal", "src/inventory.checkpoint");
     /**
      * Scanner for user input.
      */
     private final Scanner scanner = new Scanner(System.in);
     
     /**
-     * Constructs a new Menu object with an associated inventory.
+     * Constructs a new Menu object with an associated inventory, recovered from the journal of the previous run.
+     * Device categories listed in "src/categories.txt", if present, are registered first.
+     *
+     * @see CategoryRegistry#load(String)
+     * @see InventoryJournal#recover()
      */
     public Menu() {
-        inventory = new Inventory();
+        if (Files.exists(Path.of("src/categories.txt"))) {
+            try {
+                CategoryRegistry.load("src/categories.txt");
+            } catch (IOException e) {
+                System.out.println("Error occurred while reading device categories: " + e.getMessage());
+            }
+        }
+        Inventory recovered;
+        try {
+            recovered = journal.recover();
+        } catch (IOException e) {
+            System.out.println("Error occurred while reading inventory journal: " + e.getMessage());
+            recovered = new Inventory();
+        }
+        inventory = recovered;
     }
     
     /**
@@ -42,6 +70,14 @@ public class Menu {
      * @see Inventory#calculateTotalInventoryValue()
      * @see Inventory#restockDevice(String, int, String)
      * @see Inventory#exportInventoryReport(String)
+     * @see InventoryStorage#exportCsv(Inventory, String)
+     * @see InventoryStorage#importCsv(String)
+     * @see InventoryStorage#writeSnapshot(Inventory, String)
+     * @see InventoryStorage#readSnapshot(String)
+     * @see BatchProcessor#run(String, java.io.OutputStream)
+     * @see Inventory#lowestStock(int)
+     * @see Inventory#devicesInPriceRange(String, double, double)
+     * @see Inventory#highestStockValue(int)
      */
     public void run() {
         int choice;
@@ -95,6 +131,46 @@ public class Menu {
                     // Export inventory report
                     inventory.exportInventoryReport("src/inventory_report.txt");
                     
+                    break;
+                case 10:
+                    // Export inventory as CSV
+                    exportCsv("src/inventory.csv");
+                    
+                    break;
+                case 11:
+                    // Import inventory from CSV
+                    importCsv("src/inventory.csv");
+                    
+                    break;
+                case 12:
+                    // Save inventory snapshot
+                    saveSnapshot("src/inventory.snapshot");
+                    
+                    break;
+                case 13:
+                    // Load inventory snapshot
+                    loadSnapshot("src/inventory.snapshot");
+                    
+                    break;
+                case 14:
+                    // Run a batch command file
+                    runBatch();
+                    
+                    break;
+                case 15:
+                    // List lowest-stock devices
+                    listLowestStock();
+                    
+                    break;
+                case 16:
+                    // List devices in a price range
+                    listDevicesInPriceRange();
+                    
+                    break;
+                case 17:
+                    // List devices with the highest stock value
+                    listHighestStockValue();
+                    
                     break;
                 case 0:
                     // Exit
@@ -107,6 +183,11 @@ public class Menu {
         } while (choice != 0);
         
         scanner.close();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Error occurred while closing inventory journal: " + e.getMessage());
+        }
     }
     
     /**
@@ -129,6 +210,14 @@ public class Menu {
             7. Calculate total inventory value
             8. Restock a device
             9. Export inventory report
+            10. Export inventory as CSV
+            11. Import inventory from CSV
+            12. Save inventory snapshot
+            13. Load inventory snapshot
+            14. Run a batch command file
+            15. List lowest-stock devices
+            16. List devices in a price range
+            17. List devices with the highest stock value
             0. Exit
                                  
             Enter your choice:\s""");
@@ -212,5 +301,144 @@ public class Menu {
         inventory.restockDevice(deviceNameToRestock, quantityChange, isAdd);
     }
     
+    /**
+     * Exports the inventory as CSV.
+     *
+     * @param filename The CSV file to write.
+     * @see InventoryStorage#exportCsv(Inventory, String)
+     */
+    private void exportCsv(String filename) {
+        try {
+            InventoryStorage.exportCsv(inventory, filename);
+            System.out.println("Inventory exported successfully to " + filename);
+        } catch (IOException e) {
+            System.out.println("Error occurred while exporting inventory: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Replaces the inventory with the devices of a CSV file.
+     *
+     * @param filename The CSV file to read.
+     * @see InventoryStorage#importCsv(String)
+     */
+    private void importCsv(String filename) {
+        try {
+            inventory = InventoryStorage.importCsv(filename);
+            journal.reset(inventory);
+            System.out.println("Inventory imported successfully from " + filename);
+        } catch (IOException e) {
+            System.out.println("Error occurred while importing inventory: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Saves the inventory as a binary snapshot.
+     *
+     * @param filename The snapshot file to write.
+     * @see InventoryStorage#writeSnapshot(Inventory, String)
+     */
+    private void saveSnapshot(String filename) {
+        try {
+            InventoryStorage.writeSnapshot(inventory, filename);
+            System.out.println("Inventory snapshot saved successfully to " + filename);
+        } catch (IOException e) {
+            System.out.println("Error occurred while saving inventory snapshot: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Replaces the inventory with the devices of a binary snapshot.
+     *
+     * @param filename The snapshot file to read.
+     * @see InventoryStorage#readSnapshot(String)
+     */
+    private void loadSnapshot(String filename) {
+        try {
+            inventory = InventoryStorage.readSnapshot(filename);
+            journal.reset(inventory);
+            System.out.println("Inventory snapshot loaded successfully from " + filename);
+        } catch (IOException e) {
+            System.out.println("Error occurred while loading inventory snapshot: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Applies a command file to the inventory in one batch.
+     *
+     * @see BatchProcessor#run(String, java.io.OutputStream)
+     */
+    private void runBatch() {
+        System.out.print("Enter command file name: ");
+        String filename = scanner.nextLine();
+        try {
+            new BatchProcessor(inventory).run(filename, System.out);
+        } catch (IOException e) {
+            System.out.println("Error occurred while running batch: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Lists the devices with the lowest quantity in stock.
+     *
+     * @throws InputMismatchException if the user inputs an invalid number
+     * @see Inventory#lowestStock(int)
+     */
+    private void listLowestStock() {
+        System.out.print("Enter number of devices: ");
+        int count = scanner.nextInt();
+        
+        printDevices("Lowest Stock Devices:", inventory.lowestStock(count));
+    }
+    
+    /**
+     * Lists the devices in a price range, either in one category or in the whole inventory.
+     *
+     * @throws InputMismatchException if the user inputs an invalid price
+     * @see Inventory#devicesInPriceRange(String, double, double)
+     * @see Inventory#devicesInPriceRange(double, double)
+     */
+    private void listDevicesInPriceRange() {
+        System.out.print("Enter category name (leave blank for all categories): ");
+        String categoryName = scanner.nextLine();
+        System.out.print("Enter minimum price: ");
+        double minPrice = scanner.nextDouble();
+        System.out.print("Enter maximum price: ");
+        double maxPrice = scanner.nextDouble();
+        
+        printDevices("Devices in Price Range:", categoryName.isEmpty()
+            ? inventory.devicesInPriceRange(minPrice, maxPrice)
+            : inventory.devicesInPriceRange(categoryName, minPrice, maxPrice));
+    }
+    
+    /**
+     * Lists the devices with the highest stock value.
+     *
+     * @throws InputMismatchException if the user inputs an invalid number
+     * @see Inventory#highestStockValue(int)
+     */
+    private void listHighestStockValue() {
+        System.out.print("Enter number of devices: ");
+        int count = scanner.nextInt();
+        
+        printDevices("Highest Stock Value Devices:", inventory.highestStockValue(count));
+    }
+    
+    /**
+     * Prints a numbered list of devices, as the device list does.
+     * Time Complexity: O(k), where k is the number of devices
+     *
+     * @param title   The title of the list.
+     * @param devices The devices to print.
+     */
+    private static void printDevices(String title, Collection<Device> devices) {
+        int line = 1;
+        System.out.println(title);
+        for (Device device : devices) {
+            System.out.print(line++ + ". ");
+            System.out.println(device);
+        }
+    }
+    
     
 }
@@ -0,0 +1,84 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the heap-based top-K queries and the per-category price range query of {@link Inventory} with what a full
+ * listing gives: sorting every device, or filtering the whole price index by category. Checks that both return the same
+ * devices in the same order.
+ * <p>
+ * Usage: {@code java mypackage.QueryBenchmark [deviceCount]}
+ */
+public class QueryBenchmark {
+    private static final String[] CATEGORIES = {"TV", "Headphones", "Smart Phone", "Smart Watch", "Laptop"};
+    private static final int ROUNDS = 10;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of devices (default one million).
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        Inventory inventory = new Inventory();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        for (int i = 0; i < count; i++) {
+            inventory.addDevice(CATEGORIES[random.nextInt(CATEGORIES.length)], "device-" + i,
+                1 + random.nextInt(200000) / 100.0, random.nextInt(1000));
+        }
+        System.setOut(stdout);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            List<Device> lowest = inventory.lowestStock(10);
+            List<Device> highest = inventory.highestStockValue(20);
+            List<Device> laptops = new ArrayList<>(inventory.devicesInPriceRange("Laptop", 500, 900));
+            double indexedMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            List<Device> listing = listing(inventory);
+            List<Device> sortedByQuantity = new ArrayList<>(listing);
+            sortedByQuantity.sort(Comparator.comparingInt(Device::getQuantity));
+            List<Device> sortedByValue = new ArrayList<>(listing);
+            sortedByValue.sort(Comparator.comparingLong((Device device) -> device.getPriceCents() * device.getQuantity()).reversed());
+            List<Device> filtered = new ArrayList<>();
+            for (Device device : inventory.devicesInPriceRange(500, 900)) {
+                if (device.getCategory().equals("Laptop")) {
+                    filtered.add(device);
+                }
+            }
+            double fullMillis = (System.nanoTime() - start) / 1e6;
+
+            if (!lowest.equals(sortedByQuantity.subList(0, Math.min(10, count)))
+                || !highest.equals(sortedByValue.subList(0, Math.min(20, count)))
+                || !laptops.equals(filtered)) {
+                throw new IllegalStateException("Query results differ from the full listing");
+            }
+            System.out.printf("Round %d: queries %.2f ms, full sort and scan %.2f ms (x%.1f), %d laptops in range%n",
+                round, indexedMillis, fullMillis, fullMillis / indexedMillis, laptops.size());
+        }
+    }
+
+    /**
+     * Returns every device in listing order.
+     *
+     * @param inventory The inventory.
+     * @return The devices.
+     */
+    private static List<Device> listing(Inventory inventory) {
+        List<Device> devices = new ArrayList<>();
+        for (Inventory.Category category : inventory.categories.values()) {
+            devices.addAll(category.devices);
+        }
+        return devices;
+    }
+}
@@ -0,0 +1,102 @@
+package mypackage;
+
+import mypackage.util.*;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the report export through {@code String.format} and {@code DecimalFormat} with
+ * {@link Inventory#exportInventoryReport(String)}, which uses {@link InventoryReportWriter}, and checks that both files
+ * are identical.
+ * <p>
+ * Usage: {@code java mypackage.ReportBenchmark [deviceCount]}
+ */
+public class ReportBenchmark {
+    private static final String[] CATEGORIES = {"TV", "Headphones", "Smart Phone", "Smart Watch", "Laptop"};
+    private static final int ROUNDS = 5;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of devices (default one million).
+     * @throws IOException if a report cannot be written or read back.
+     */
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        Inventory inventory = new Inventory();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        for (int i = 0; i < count; i++) {
+            inventory.addDevice(CATEGORIES[random.nextInt(CATEGORIES.length)], "device-" + i,
+                1 + random.nextInt(500000) / 100.0, random.nextInt(1000));
+        }
+        Path formatted = Files.createTempFile("report-format", ".txt");
+        Path streamed = Files.createTempFile("report-writer", ".txt");
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                exportWithFormat(inventory, formatted.toString());
+                double formatSeconds = (System.nanoTime() - start) / 1e9;
+
+                start = System.nanoTime();
+                inventory.exportInventoryReport(streamed.toString());
+                double writerSeconds = (System.nanoTime() - start) / 1e9;
+
+                if (!Arrays.equals(Files.readAllBytes(formatted), Files.readAllBytes(streamed))) {
+                    throw new IllegalStateException("Reports differ");
+                }
+                stdout.printf("Round %d: String.format %.0f rows/s, InventoryReportWriter %.0f rows/s (x%.1f)%n",
+                    round, count / formatSeconds, count / writerSeconds, formatSeconds / writerSeconds);
+            }
+        } finally {
+            System.setOut(stdout);
+            Files.deleteIfExists(formatted);
+            Files.deleteIfExists(streamed);
+        }
+    }
+
+    /**
+     * The report export as it was written before InventoryReportWriter.
+     *
+     * @param inventory The inventory to export.
+     * @param filename  The report file.
+     * @throws IOException if the report cannot be written.
+     */
+    private static void exportWithFormat(Inventory inventory, String filename) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
+            writer.write("Electronics Shop Inventory Report\n");
+            writer.write("Generated on: " + LocalDate.now() + "\n");
+            writer.write("---------------------------------------\n");
+            writer.write("| No. | Category | Name | Price | Quantity |\n");
+            writer.write("---------------------------------------\n");
+            DecimalFormat df = new DecimalFormat("#,##0.00$");
+            int itemCount = 0;
+            for (Inventory.Category category : inventory.categories.values()) {
+                for (Device device : category.devices) {
+                    writer.write(String.format("|%-2d | %-12s | %-12s | $%-8s | %-6d |\n",
+                        ++itemCount,
+                        device.getCategory(),
+                        device.getName(),
+                        df.format(device.getPrice()),
+                        device.getQuantity()));
+                }
+            }
+            writer.write("---------------------------------------\n");
+            writer.write("Summary:\n");
+            writer.write("- Total Number of Devices: " + itemCount + "\n");
+            writer.write("- Total Inventory Value: " + inventory.calculateTotalInventoryValue() + "\n");
+            writer.write("End of Report\n");
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package mypackage.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The CategoryRegistry class assigns every device category a small integer ID and maps each ID to the factory that
+ * creates devices of that category.
+ * <p>
+ * Category names are interned once, so devices store and compare categories as integers, and creating a device is an
+ * array lookup instead of a chain of string comparisons. The five built-in categories are always registered; more
+ * categories can be registered in code or listed in a configuration file, and are created as {@link GenericDevice}s.
+ */
+public final class CategoryRegistry {
+	/**
+	 * Creates a device of one category.
+	 */
+	@FunctionalInterface
+	public interface Factory {
+		/**
+		 * Creates a device.
+		 *
+		 * @param name     The name of the device.
+		 * @param price    The price of the device.
+		 * @param quantity The quantity of the device.
+		 * @return The new device.
+		 */
+		Device create(String name, double price, int quantity);
+	}
+
+	/**
+	 * The ID returned for a category name that was never interned.
+	 */
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * The ID of every interned category name.
+	 */
+	private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * The category names by ID. Replaced, never modified, when a category is added.
+	 */
+	private static volatile String[] names = new String[0];
+
+	/**
+	 * The factories by ID; null for a category that is interned but cannot be created. Replaced, never modified, when a
+	 * factory is registered.
+	 */
+	private static volatile Factory[] factories = new Factory[0];
+
+	static {
+		register("TV", TV::new);
+		register("Headphones", Headphones::new);
+		register("Smart Phone", SmartPhone::new);
+		register("Smart Watch", SmartWatch::new);
+		register("Laptop", Laptop::new);
+	}
+
+	private CategoryRegistry() {
+	}
+
+	/**
+	 * Returns the ID of a category name, assigning the next free ID if the name is new.
+	 * <p>
+	 * Time Complexity: O(1) on average; O(c) the first time a name is seen, where c is the number of categories.
+	 *
+	 * @param name The category name.
+	 * @return The category ID.
+	 */
+	public static int intern(String name) {
+		Integer id = ids.get(name);
+		return id != null ? id : internNew(name);
+	}
+
+	private static synchronized int internNew(String name) {
+		Integer id = ids.get(name);
+		if (id != null) {
+			return id;
+		}
+		String[] grown = Arrays.copyOf(names, names.length + 1);
+		grown[names.length] = name;
+		names = grown;
+		ids.put(name, names.length - 1);
+		return names.length - 1;
+	}
+
+	/**
+	 * Returns the ID of a category name without interning it.
+	 * <p>
+	 * Time Complexity: O(1) on average.
+	 *
+	 * @param name The category name.
+	 * @return The category ID, or {@link #UNKNOWN} if the name was never interned.
+	 */
+	public static int idOf(String name) {
+		Integer id = ids.get(name);
+		return id != null ? id : UNKNOWN;
+	}
+
+	/**
+	 * Returns the name of a category.
+	 * <p>
+	 * Time Complexity: O(1)
+	 *
+	 * @param id The category ID.
+	 * @return The category name.
+	 * @throws ArrayIndexOutOfBoundsException if the ID was never assigned.
+	 */
+	public static String nameOf(int id) {
+		return names[id];
+	}
+
+	/**
+	 * Returns the number of category IDs assigned so far; every ID is below it.
+	 * <p>
+	 * Time Complexity: O(1)
+	 *
+	 * @return The number of categories.
+	 */
+	public static int size() {
+		return names.length;
+	}
+
+	/**
+	 * Registers the factory of a category, replacing any previous one.
+	 * <p>
+	 * Time Complexity: O(c), where c is the number of categories.
+	 *
+	 * @param name    The category name.
+	 * @param factory The factory that creates devices of the category.
+	 * @return The category ID.
+	 */
+	public static synchronized int register(String name, Factory factory) {
+		int id = intern(name);
+		Factory[] grown = Arrays.copyOf(factories, Math.max(factories.length, id + 1));
+		grown[id] = factory;
+		factories = grown;
+		return id;
+	}
+
+	/**
+	 * Returns whether devices of a category can be created.
+	 * <p>
+	 * Time Complexity: O(1)
+	 *
+	 * @param id The category ID.
+	 * @return true if a factory is registered for the category.
+	 */
+	public static boolean isRegistered(int id) {
+		Factory[] current = factories;
+		return id >= 0 && id < current.length && current[id] != null;
+	}
+
+	/**
+	 * Creates a device of a category.
+	 * <p>
+	 * Time Complexity: O(1)
+	 *
+	 * @param id       The category ID.
+	 * @param name     The name of the device.
+	 * @param price    The price of the device.
+	 * @param quantity The quantity of the device.
+	 * @return The new device, or null if no factory is registered for the category.
+	 */
+	public static Device create(int id, String name, double price, int quantity) {
+		Factory[] current = factories;
+		if (id < 0 || id >= current.length || current[id] == null) {
+			return null;
+		}
+		return current[id].create(name, price, quantity);
+	}
+
+	/**
+	 * Creates a device of a category given by name.
+	 * <p>
+	 * Time Complexity: O(1) on average.
+	 *
+	 * @param category The category name.
+	 * @param name     The name of the device.
+	 * @param price    The price of the device.
+	 * @param quantity The quantity of the device.
+	 * @return The new device, or null if no factory is registered for the category.
+	 */
+	public static Device create(String category, String name, double price, int quantity) {
+		return create(idOf(category), name, price, quantity);
+	}
+
+	/**
+	 * Registers the categories listed in a configuration file, one category name per line, as {@link GenericDevice}
+	 * categories. Blank lines and lines starting with {@code #} are skipped, and categories that already have a factory
+	 * keep it.
+	 * <p>
+	 * Time Complexity: O(k * c), where k is the number of listed categories and c the number of categories.
+	 *
+	 * @param filename The configuration file.
+	 * @return The number of categories added.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static int load(String filename) throws IOException {
+		int added = 0;
+		try (BufferedReader reader = Files.newBufferedReader(Path.of(filename))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String category = line.strip();
+				if (category.isEmpty() || category.startsWith("#") || isRegistered(idOf(category))) {
+					continue;
+				}
+				register(category, (name, price, quantity) -> new GenericDevice(category, name, price, quantity));
+				added++;
+			}
+		}
+		return added;
+	}
+}
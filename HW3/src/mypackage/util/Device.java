@@ -3,7 +3,8 @@ package mypackage.util;
 /**
  * The Device interface represents an electronic device.
  * <p>
- * It defines methods to retrieve and modify device attributes such as category, name, price, and quantity.
+ * It defines methods to retrieve and modify device attributes such as category, name, price, and quantity. Prices and
+ * quantities are primitives, and prices are held as whole cents, so a device costs no boxed objects.
  */
 public interface Device {
 
@@ -16,6 +17,15 @@ public interface Device {
      */
     String getCategory();
 
+    /**
+     * Returns the category of the device as its {@link CategoryRegistry} ID, so categories can be compared as integers.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @return The category ID of the device.
+     */
+    int getCategoryId();
+
     /**
      * Returns the name of the device.
      * <p>
@@ -41,16 +51,34 @@ public interface Device {
      *
      * @return The price of the device as a double.
      */
-    Double getPrice();
+    double getPrice();
 
     /**
-     * Sets the price of the device.
+     * Sets the price of the device, rounded to whole cents.
      * <p>
      * Time Complexity: O(1)
      *
      * @param newPrice The new price to set for the device.
      */
-    void setPrice(Double newPrice);
+    void setPrice(double newPrice);
+
+    /**
+     * Returns the price of the device in cents.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @return The price of the device in cents.
+     */
+    long getPriceCents();
+
+    /**
+     * Sets the price of the device in cents.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @param newPriceCents The new price to set for the device, in cents.
+     */
+    void setPriceCents(long newPriceCents);
 
     /**
      * Returns the quantity of the device.
@@ -59,7 +87,7 @@ public interface Device {
      *
      * @return The quantity of the device as an integer.
      */
-    Integer getQuantity();
+    int getQuantity();
 
     /**
      * Sets the quantity of the device.
@@ -68,7 +96,7 @@ public interface Device {
      *
      * @param newQuantity The new quantity to set for the device.
      */
-    void setQuantity(Integer newQuantity);
+    void setQuantity(int newQuantity);
 
     /**
      * Returns a string representation of the device.
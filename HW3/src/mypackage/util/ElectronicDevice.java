@@ -2,8 +2,6 @@
 package mypackage.util;
 
 
-import java.text.DecimalFormat;
-
 /**
  * The ElectronicDevice class represents an electronic device and implements the Device interface.
  * <p>
@@ -11,9 +9,9 @@ import java.text.DecimalFormat;
  */
 abstract class ElectronicDevice implements Device {
     /**
-     * The category of the device.
+     * The category of the device, as its {@link CategoryRegistry} ID.
      */
-    protected String category;
+    protected int categoryId;
 
     /**
      * The name of the device.
@@ -21,14 +19,14 @@ abstract class ElectronicDevice implements Device {
     protected String name;
 
     /**
-     * The price of the device.
+     * The price of the device in cents.
      */
-    protected Double price;
+    protected long priceCents;
 
     /**
      * The quantity of the device.
      */
-    protected Integer quantity;
+    protected int quantity;
 
 
     /**
@@ -41,16 +39,21 @@ abstract class ElectronicDevice implements Device {
      * @param price    The price of the device.
      * @param quantity The quantity of the device.
      */
-    ElectronicDevice(String category, String name, Double price, Integer quantity) {
-        this.category = category;
+    ElectronicDevice(String category, String name, double price, int quantity) {
+        this.categoryId = CategoryRegistry.intern(category);
         this.name = name;
-        this.price = price;
+        this.priceCents = Money.toCents(price);
         this.quantity = quantity;
     }
 
     @Override
     public String getCategory() {
-        return category;
+        return CategoryRegistry.nameOf(categoryId);
+    }
+
+    @Override
+    public int getCategoryId() {
+        return categoryId;
     }
 
     @Override
@@ -64,31 +67,53 @@ abstract class ElectronicDevice implements Device {
     }
 
     @Override
-    public Double getPrice() {
-        return price;
+    public double getPrice() {
+        return Money.toDollars(priceCents);
     }
 
     @Override
-    public void setPrice(Double newPrice) {
-        price = newPrice;
+    public void setPrice(double newPrice) {
+        priceCents = Money.toCents(newPrice);
     }
 
     @Override
-    public Integer getQuantity() {
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    @Override
+    public void setPriceCents(long newPriceCents) {
+        priceCents = newPriceCents;
+    }
+
+    @Override
+    public int getQuantity() {
         return quantity;
     }
 
     @Override
-    public void setQuantity(Integer newQuantity) {
+    public void setQuantity(int newQuantity) {
         quantity = newQuantity;
     }
 
     @Override
     public String toString() {
-        DecimalFormat df = new DecimalFormat("#,##0.00$");
-        return "Category: " + this.getClass().getSimpleName() + ", "
-            + "Name: " + this.getName() + ", "
-            + "Price: " + df.format(this.getPrice()) + ", "
-            + "Quantity: " + this.getQuantity();
+        StringBuilder text = new StringBuilder(64);
+        text.append("Category: ").append(displayName()).append(", ")
+            .append("Name: ").append(this.getName()).append(", ")
+            .append("Price: ");
+        Money.appendTo(text, priceCents);
+        return text.append(", ").append("Quantity: ").append(quantity).toString();
+    }
+
+    /**
+     * Returns the name the device is shown under in {@link #toString()}.
+     * <p>
+     * Time Complexity: O(1)
+     *
+     * @return The simple name of the device class.
+     */
+    protected String displayName() {
+        return this.getClass().getSimpleName();
     }
 }
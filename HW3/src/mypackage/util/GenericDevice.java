@@ -0,0 +1,26 @@
+package mypackage.util;
+
+/**
+ * The GenericDevice class represents a device of a category that has no class of its own, such as a category added
+ * through {@link CategoryRegistry#load(String)}.
+ * <p>
+ * It is shown under its category name with the spaces removed, the way the built-in device classes are named.
+ */
+public class GenericDevice extends ElectronicDevice {
+	/**
+	 * Constructs a GenericDevice object with the specified category, name, price, and quantity.
+	 *
+	 * @param category The category of the device.
+	 * @param name     The name of the device.
+	 * @param price    The price of the device.
+	 * @param quantity The quantity of the device.
+	 */
+	public GenericDevice(String category, String name, double price, int quantity) {
+		super(category, name, price, quantity);
+	}
+
+	@Override
+	protected String displayName() {
+		return getCategory().replace(" ", "");
+	}
+}
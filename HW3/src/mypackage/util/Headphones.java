@@ -14,7 +14,7 @@ public class Headphones extends ElectronicDevice {
 	 * @param price    The price of the Headphones.
 	 * @param quantity The quantity of the Headphones.
 	 */
-	public Headphones(String name, Double price, Integer quantity) {
+	public Headphones(String name, double price, int quantity) {
 		super("Headphones", name, price, quantity);
 	}
 }
@@ -13,7 +13,7 @@ public class Laptop extends ElectronicDevice {
 	 * @param price    The price of the Laptop.
 	 * @param quantity The quantity of the Laptop.
 	 */
-	public Laptop(String name, Double price, Integer quantity) {
+	public Laptop(String name, double price, int quantity) {
 		super("Laptop", name, price, quantity);
 	}
 }
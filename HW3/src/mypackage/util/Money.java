@@ -0,0 +1,132 @@
+package mypackage.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * The Money class converts prices between dollars and whole cents and formats cent amounts.
+ * <p>
+ * Formatting produces the same text as {@code new DecimalFormat("#,##0.00$").format(cents / 100.0)} in the default
+ * locale, without creating a formatter per call.
+ */
+public final class Money {
+	/**
+	 * The separators of the last locale used for formatting, replaced when the default locale changes.
+	 */
+	private static volatile Symbols cached = new Symbols(Locale.getDefault(Locale.Category.FORMAT));
+	
+	/**
+	 * The grouping separator, decimal separator, negative prefix and zero digit of a locale.
+	 */
+	private static final class Symbols {
+		final Locale locale;
+		final char grouping;
+		final char decimal;
+		final String minus;
+		final char zero;
+		
+		Symbols(Locale locale) {
+			DecimalFormatSymbols formatSymbols = DecimalFormatSymbols.getInstance(locale);
+			this.locale = locale;
+			this.grouping = formatSymbols.getGroupingSeparator();
+			this.decimal = formatSymbols.getDecimalSeparator();
+			this.minus = new DecimalFormat("#,##0.00$", formatSymbols).getNegativePrefix();
+			this.zero = formatSymbols.getZeroDigit();
+		}
+	}
+	
+	private Money() {
+	}
+	
+	/**
+	 * Converts a price in dollars to whole cents, rounding half to even like {@link DecimalFormat}, so a price is shown
+	 * with the same cents it was shown with when it was formatted directly, e.g. 0.125 as "0.12$".
+	 * <p>
+	 * {@code price * 100} is only off from the exact product by half an ulp, so it is rounded directly unless it lies
+	 * within an ulp of a half cent; those prices are rounded from their exact binary value.
+	 * <p>
+	 * Time Complexity: O(1)
+	 *
+	 * @param price The price in dollars.
+	 * @return The price in cents.
+	 */
+	public static long toCents(double price) {
+		double scaled = price * 100;
+		if (Math.abs(scaled - Math.floor(scaled) - 0.5) > Math.ulp(scaled)) {
+			return Math.round(scaled);
+		}
+		return new BigDecimal(price).setScale(2, RoundingMode.HALF_EVEN).movePointRight(2).longValueExact();
+	}
+	
+	/**
+	 * Converts a price in cents to dollars.
+	 * <p>
+	 * Time Complexity: O(1)
+	 *
+	 * @param cents The price in cents.
+	 * @return The price in dollars.
+	 */
+	public static double toDollars(long cents) {
+		return cents / 100.0;
+	}
+	
+	/**
+	 * Formats an amount of cents with grouped thousands, two decimals and a trailing dollar sign, e.g. "1,500.00$".
+	 * <p>
+	 * Time Complexity: O(d), where d is the number of digits.
+	 *
+	 * @param cents The amount in cents.
+	 * @return The formatted amount.
+	 */
+	public static String format(long cents) {
+		return appendTo(new StringBuilder(24), cents).toString();
+	}
+	
+	/**
+	 * Appends an amount of cents formatted as by {@link #format(long)}.
+	 * <p>
+	 * Time Complexity: O(d), where d is the number of digits.
+	 *
+	 * @param text  The builder to append to.
+	 * @param cents The amount in cents.
+	 * @return The builder.
+	 */
+	public static StringBuilder appendTo(StringBuilder text, long cents) {
+		Symbols symbols = symbols();
+		if (cents < 0) {
+			text.append(symbols.minus);
+		}
+		// Work on the negative value so that Long.MIN_VALUE needs no special case.
+		long negative = cents < 0 ? cents : -cents;
+		long dollars = -(negative / 100);
+		int fraction = (int) -(negative % 100);
+		String digits = Long.toString(dollars);
+		for (int i = 0; i < digits.length(); i++) {
+			if (i > 0 && (digits.length() - i) % 3 == 0) {
+				text.append(symbols.grouping);
+			}
+			text.append((char) (symbols.zero + digits.charAt(i) - '0'));
+		}
+		return text.append(symbols.decimal).append((char) (symbols.zero + fraction / 10)).append((char) (symbols.zero + fraction % 10)).append('$');
+	}
+	
+	/**
+	 * Returns the separators of the default format locale, looking them up again only when the locale changes.
+	 * <p>
+	 * Time Complexity: O(1)
+	 *
+	 * @return The separators.
+	 */
+	private static Symbols symbols() {
+		Symbols symbols = cached;
+		Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+		if (!symbols.locale.equals(locale)) {
+			symbols = new Symbols(locale);
+			cached = symbols;
+		}
+		return symbols;
+	}
+}
@@ -13,7 +13,7 @@ public class SmartPhone extends ElectronicDevice {
 	 * @param price    The price of the SmartPhone.
 	 * @param quantity The quantity of the SmartPhone.
 	 */
-	public SmartPhone(String name, Double price, Integer quantity) {
+	public SmartPhone(String name, double price, int quantity) {
 		super("Smart Phone", name, price, quantity);
 	}
 }
@@ -13,7 +13,7 @@ public class SmartWatch extends ElectronicDevice {
 	 * @param price    The price of the SmartWatch.
 	 * @param quantity The quantity of the SmartWatch.
 	 */
-	public SmartWatch(String name, Double price, Integer quantity) {
+	public SmartWatch(String name, double price, int quantity) {
 		super("Smart Watch", name, price, quantity);
 	}
 }
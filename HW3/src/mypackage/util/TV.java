@@ -13,7 +13,7 @@ public class TV extends ElectronicDevice {
 	 * @param price    The price of the TV.
 	 * @param quantity The quantity of the TV.
 	 */
-	public TV(String name, Double price, Integer quantity) {
+	public TV(String name, double price, int quantity) {
 		super("TV", name, price, quantity);
 	}
 }